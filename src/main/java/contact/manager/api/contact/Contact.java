@@ -1,5 +1,6 @@
 package contact.manager.api.contact;
 
+import contact.manager.api.misc.CustomUUIDGenerator;
 import contact.manager.api.misc.Tools;
 import contact.manager.api.user.User;
 import jakarta.persistence.*;
@@ -7,7 +8,10 @@ import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import org.hibernate.annotations.UuidGenerator;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.GenericGenerator;
 
 import java.time.Instant;
 import java.time.LocalDate;
@@ -18,11 +22,13 @@ import java.util.stream.Collectors;
 @Getter
 @Setter(AccessLevel.PRIVATE)
 @Table(name = "contacts")
+@DynamicUpdate
 @NoArgsConstructor
 public class Contact {
 
     @Id
-    @UuidGenerator
+    @GeneratedValue(generator = "uuid-v7")
+    @GenericGenerator(name = "uuid-v7", type = CustomUUIDGenerator.class)
     @Column(name = "contact_id")
     private UUID id;
 
@@ -45,22 +51,34 @@ public class Contact {
     private String role;
 
     @ElementCollection
-    @CollectionTable(name = "phone_numbers", joinColumns = @JoinColumn(name = "contact_id"))
+    @BatchSize(size = 100)
+        @CollectionTable(name = "phone_numbers", joinColumns = @JoinColumn(name = "contact_id"))
     @MapKeyColumn(name = "mark", length = 25)
     @Column(name = "phone_number", length = 15)
     private Map<String, String> phoneNumberMap = new HashMap<>();
 
     @ElementCollection
-    @CollectionTable(name = "emails", joinColumns = @JoinColumn(name = "contact_id"))
+    @BatchSize(size = 100)
+        @CollectionTable(name = "emails", joinColumns = @JoinColumn(name = "contact_id"))
     @MapKeyColumn(name = "mark", length = 25)
     @Column(name = "email", length = 20)
     private Map<String, String> emailMap = new HashMap<>();
 
     @ElementCollection
-    @CollectionTable(name = "addresses",  joinColumns = @JoinColumn(name = "contact_id"))
+    @BatchSize(size = 100)
+        @CollectionTable(name = "addresses",  joinColumns = @JoinColumn(name = "contact_id"))
     @MapKeyColumn(name = "mark", length = 25)
     private Map<String, Address> addressMap = new HashMap<>();
 
+    @Version
+    @Setter(AccessLevel.PACKAGE)
+    @Column(nullable = false)
+    private long version;
+
+    @Setter(AccessLevel.PACKAGE)
+    @Column(name = "sync_version", nullable = false)
+    private long syncVersion;
+
     @JoinColumn(name = "user_id")
     @ManyToOne(fetch = FetchType.LAZY)
     @Setter(AccessLevel.PUBLIC)
@@ -104,6 +122,42 @@ public class Contact {
         addressMap.put(type, Objects.requireNonNull(address));
     }
 
+    void fetchCollections() {
+        Hibernate.initialize(phoneNumberMap);
+        Hibernate.initialize(emailMap);
+        Hibernate.initialize(addressMap);
+    }
+
+    void fetchCollections(final Set<ContactField> fields) {
+        if (fields.contains(ContactField.PHONE_NUMBERS)) Hibernate.initialize(phoneNumberMap);
+        if (fields.contains(ContactField.EMAILS)) Hibernate.initialize(emailMap);
+        if (fields.contains(ContactField.ADDRESSES)) Hibernate.initialize(addressMap);
+    }
+
+    boolean updateFrom(final Contact source) {
+        boolean changed = false;
+        if (!Objects.equals(name, source.getName())) { name = source.getName(); changed = true; }
+        if (!Objects.equals(birthday, source.getBirthday())) { birthday = source.getBirthday(); changed = true; }
+        if (!Objects.equals(company, source.getCompany())) { company = source.getCompany(); changed = true; }
+        if (!Objects.equals(role, source.getRole())) { role = source.getRole(); changed = true; }
+        changed |= updateEntries(phoneNumberMap, source.phoneNumberMap);
+        changed |= updateEntries(emailMap, source.emailMap);
+        changed |= updateEntries(addressMap, source.addressMap);
+        return changed;
+    }
+
+    private static <V> boolean updateEntries(final Map<String, V> target, final Map<String, V> source) {
+        final Map<String, V> entries = Objects.requireNonNullElse(source, Map.of());
+        boolean changed = target.keySet().removeIf(mark -> !entries.containsKey(mark));
+        for (final Map.Entry<String, V> entry : entries.entrySet()) {
+            if (!Objects.equals(target.get(entry.getKey()), entry.getValue())) {
+                target.put(entry.getKey(), entry.getValue());
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
     public ContactData toContactDta() {
         return new ContactData(this);
     }
@@ -126,6 +180,21 @@ public class Contact {
         return newContact;
     }
 
+    static Contact copyOf(final ContactData contactData, final long version) {
+        final Contact contact = new Contact(contactData.getName(), contactData.getId());
+        contact.setAddedOn(contactData.getAddedOn());
+        contact.setBirthday(contactData.getBirthday());
+        contact.setCompany(contactData.getCompany());
+        contact.setRole(contactData.getRole());
+        contact.setPhoneNumberMap(new HashMap<>(contactData.getPhoneNumbers()));
+        contact.setEmailMap(new HashMap<>(contactData.getEmails()));
+        contactData.getAddresses().forEach((mark, address) -> contact.putAddress(mark, new Address(
+            address.getCountry(), address.getStreet(), address.getCity(), address.getState(), address.getZipcode()
+        )));
+        contact.setVersion(version);
+        return contact;
+    }
+
     public static List<ContactData> toListOfContactData(final List<Contact> contacts) {
         return contacts.stream().map(Contact::toContactDta).collect(Collectors.toList());
     }
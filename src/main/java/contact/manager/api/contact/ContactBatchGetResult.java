@@ -0,0 +1,28 @@
+package contact.manager.api.contact;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Getter
+public final class ContactBatchGetResult {
+
+    private final List<ContactData> contacts = new ArrayList<>();
+    private final List<UUID> missing = new ArrayList<>();
+
+    public ContactBatchGetResult(final Collection<UUID> requestedIds, final List<Contact> foundContacts) {
+        final Map<UUID, Contact> contactsById = foundContacts.stream()
+            .collect(Collectors.toMap(Contact::getId, Function.identity()));
+        for (final UUID id : requestedIds) {
+            final Contact contact = contactsById.get(id);
+            if (contact == null) missing.add(id);
+            else contacts.add(contact.toContactDta());
+        }
+    }
+}
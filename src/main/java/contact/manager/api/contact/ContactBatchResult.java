@@ -0,0 +1,25 @@
+package contact.manager.api.contact;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Getter
+@AllArgsConstructor
+public final class ContactBatchResult {
+
+    private final int index;
+    private final UUID id;
+    private final Map<String, List<String>> fieldViolations;
+
+    public static ContactBatchResult created(final int index, final UUID id) {
+        return new ContactBatchResult(index, id, null);
+    }
+
+    public static ContactBatchResult rejected(final int index, final Map<String, List<String>> fieldViolations) {
+        return new ContactBatchResult(index, null, fieldViolations);
+    }
+}
@@ -0,0 +1,25 @@
+package contact.manager.api.contact;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+@Getter
+public final class ContactBulkDeleteResult {
+
+    private final List<UUID> deleted = new ArrayList<>();
+    private final List<UUID> missing = new ArrayList<>();
+
+    public ContactBulkDeleteResult(final Collection<UUID> requestedIds, final Collection<UUID> deletedIds) {
+        final Set<UUID> deletedIdSet = new HashSet<>(deletedIds);
+        for (final UUID id : requestedIds) {
+            if (deletedIdSet.contains(id)) deleted.add(id);
+            else missing.add(id);
+        }
+    }
+}
@@ -0,0 +1,340 @@
+package contact.manager.api.contact;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Predicate;
+
+@Component
+public class ContactCache implements MeterBinder {
+
+    private static final int STAMP_STRIPES = 64;
+
+    private static final Object LIST = new Object();
+
+    // one entry per user, so that a user is dropped in one removal and evicted as a whole
+    private final Cache<String, UserEntries> cache;
+    private final ConcurrentStatsCounter statsCounter = new ConcurrentStatsCounter();
+    private final AtomicLongArray stamps = new AtomicLongArray(STAMP_STRIPES);
+    private final AtomicLong epoch = new AtomicLong();
+
+    @Autowired
+    public ContactCache(@Value("${contact-manager.contact-cache.maximum-weight:64MB}") final DataSize maximumWeight) {
+        this(maximumWeight.toBytes());
+    }
+
+    ContactCache(final long maximumWeight) {
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(maximumWeight)
+            .weigher((String userId, UserEntries userEntries) -> (int) Math.min(Integer.MAX_VALUE, userEntries.weight))
+            .recordStats(() -> statsCounter)
+            .build();
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "contacts");
+    }
+
+    public long stamp(final String userId) {
+        return stamps.get(stripe(userId));
+    }
+
+    public Optional<List<Contact>> getList(final String userId) {
+        final CachedContact[] cachedContacts = (CachedContact[]) get(userId, LIST, value -> true);
+        if (cachedContacts == null) return Optional.empty();
+        final List<Contact> contacts = new ArrayList<>(cachedContacts.length);
+        for (final CachedContact cachedContact : cachedContacts)
+            contacts.add(cachedContact.toContact());
+        return Optional.of(contacts);
+    }
+
+    public void putList(final String userId, final List<Contact> contacts, final long stamp) {
+        final CachedContact[] cachedContacts = new CachedContact[contacts.size()];
+        long weight = 32 + 8L * cachedContacts.length;
+        for (int index = 0; index < cachedContacts.length; index++) {
+            cachedContacts[index] = new CachedContact(contacts.get(index));
+            weight += cachedContacts[index].weight();
+        }
+        put(userId, LIST, cachedContacts, weight, stamp);
+    }
+
+    public Optional<Contact> getContact(final UUID contactId, final String userId) {
+        return Optional.ofNullable((CachedContact) get(userId, contactId, value -> true)).map(CachedContact::toContact);
+    }
+
+    public void putContact(final String userId, final Contact contact, final long stamp) {
+        final CachedContact cachedContact = new CachedContact(contact);
+        put(userId, contact.getId(), cachedContact, cachedContact.weight(), stamp);
+    }
+
+    public Optional<byte[]> getListJson(final String userId, final long version) {
+        return Optional.ofNullable((CachedJson) get(userId, new JsonKey(LIST), CachedJson.ofVersion(version))).map(CachedJson::json);
+    }
+
+    public void putListJson(final String userId, final long version, final byte[] json, final long stamp) {
+        put(userId, new JsonKey(LIST), new CachedJson(version, json), CachedJson.weigh(json), stamp);
+    }
+
+    public Optional<byte[]> getContactJson(final UUID contactId, final String userId, final long version) {
+        return Optional.ofNullable((CachedJson) get(userId, new JsonKey(contactId), CachedJson.ofVersion(version))).map(CachedJson::json);
+    }
+
+    public void putContactJson(final UUID contactId, final String userId, final long version, final byte[] json, final long stamp) {
+        put(userId, new JsonKey(contactId), new CachedJson(version, json), CachedJson.weigh(json), stamp);
+    }
+
+    // the stamp is bumped before the entries go, so a put racing with the removal either lands first or is dropped
+    public void invalidate(final String userId, final Collection<UUID> contactIds) {
+        stamps.incrementAndGet(stripe(userId));
+        final List<Object> keys = new ArrayList<>(2 + 2 * contactIds.size());
+        keys.add(LIST);
+        keys.add(new JsonKey(LIST));
+        for (final UUID contactId : contactIds) {
+            keys.add(contactId);
+            keys.add(new JsonKey(contactId));
+        }
+        cache.asMap().compute(userId, (key, userEntries) -> userEntries == null ? null : userEntries.without(keys));
+    }
+
+    public void invalidateUser(final String userId) {
+        stamps.incrementAndGet(stripe(userId));
+        cache.invalidate(userId);
+    }
+
+    // entries of an older epoch are ignored, as clearing may miss a user put while it runs
+    public void invalidateAll() {
+        for (int stripe = 0; stripe < STAMP_STRIPES; stripe++)
+            stamps.incrementAndGet(stripe);
+        epoch.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    public long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    public long getWeightedSize() {
+        cache.cleanUp();
+        return cache.policy().eviction().orElseThrow().weightedSize().orElse(0);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long getHitCount() {
+        return stats().hitCount();
+    }
+
+    public long getMissCount() {
+        return stats().missCount();
+    }
+
+    public double getHitRatio() {
+        return stats().hitRate();
+    }
+
+    public long getEvictionCount() {
+        return stats().evictionCount();
+    }
+
+    public long getEvictionWeight() {
+        return stats().evictionWeight();
+    }
+
+    // the user's entry is looked up without recording stats, as a hit is only a hit when the entry inside it is found
+    private Object get(final String userId, final Object key, final Predicate<Object> valid) {
+        final UserEntries userEntries = cache.asMap().get(userId);
+        final Object value = userEntries == null || userEntries.epoch != epoch.get() ? null : userEntries.get(key);
+        if (value == null || !valid.test(value)) {
+            statsCounter.recordMisses(1);
+            return null;
+        }
+        statsCounter.recordHits(1);
+        return value;
+    }
+
+    private void put(final String userId, final Object key, final Object value, final long weight, final long stamp) {
+        cache.asMap().compute(userId, (id, userEntries) -> {
+            final long currentEpoch = epoch.get();
+            if (stamps.get(stripe(userId)) != stamp) return userEntries;
+            if (userEntries == null || userEntries.epoch != currentEpoch) return UserEntries.of(currentEpoch, key, value, weight);
+            return userEntries.with(key, value, weight);
+        });
+    }
+
+    private static int stripe(final String userId) {
+        final int hash = userId.hashCode();
+        return (hash ^ (hash >>> 16)) & (STAMP_STRIPES - 1);
+    }
+
+    // the entries are only changed inside a compute on the user, and each change hands the cache a new holder to weigh
+    private static final class UserEntries {
+
+        private static final long OVERHEAD = 64;
+
+        private final long epoch;
+        private final Map<Object, Weighted> entries;
+        private final long weight;
+
+        private UserEntries(final long epoch, final Map<Object, Weighted> entries, final long weight) {
+            this.epoch = epoch;
+            this.entries = entries;
+            this.weight = weight;
+        }
+
+        private static UserEntries of(final long epoch, final Object key, final Object value, final long weight) {
+            final Map<Object, Weighted> entries = new ConcurrentHashMap<>();
+            entries.put(key, new Weighted(value, weight));
+            return new UserEntries(epoch, entries, OVERHEAD + weight);
+        }
+
+        private Object get(final Object key) {
+            final Weighted weighted = entries.get(key);
+            return weighted == null ? null : weighted.value;
+        }
+
+        private UserEntries with(final Object key, final Object value, final long weight) {
+            final Weighted previous = entries.put(key, new Weighted(value, weight));
+            return new UserEntries(epoch, entries, this.weight + weight - (previous == null ? 0 : previous.weight));
+        }
+
+        private UserEntries without(final Collection<Object> keys) {
+            long remainingWeight = weight;
+            for (final Object key : keys) {
+                final Weighted removed = entries.remove(key);
+                if (removed != null) remainingWeight -= removed.weight;
+            }
+            return entries.isEmpty() ? null : new UserEntries(epoch, entries, remainingWeight);
+        }
+    }
+
+    private static final class Weighted {
+
+        private final Object value;
+        private final long weight;
+
+        private Weighted(final Object value, final long weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    private static final class JsonKey {
+
+        private final Object key;
+
+        private JsonKey(final Object key) {
+            this.key = key;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return other instanceof JsonKey jsonKey && key.equals(jsonKey.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return ~key.hashCode();
+        }
+    }
+
+    private static final class CachedJson {
+
+        private final long version;
+        private final byte[] json;
+
+        private CachedJson(final long version, final byte[] json) {
+            this.version = version;
+            this.json = json;
+        }
+
+        private byte[] json() {
+            return json;
+        }
+
+        private static Predicate<Object> ofVersion(final long version) {
+            return value -> ((CachedJson) value).version == version;
+        }
+
+        private static long weigh(final byte[] json) {
+            return 64 + json.length;
+        }
+    }
+
+    private static final class CachedContact {
+
+        private final ContactData contactData;
+        private final long version;
+
+        private CachedContact(final Contact contact) {
+            this.contactData = new ContactData(
+                contact.getId(),
+                contact.getName(),
+                contact.getAddedOn(),
+                contact.getBirthday(),
+                contact.getCompany(),
+                contact.getRole(),
+                Map.copyOf(contact.getPhoneNumberMap()),
+                Map.copyOf(contact.getEmailMap()),
+                copyOf(contact.getAddressMap())
+            );
+            this.version = contact.getVersion();
+        }
+
+        private Contact toContact() {
+            return Contact.copyOf(contactData, version);
+        }
+
+        private long weight() {
+            long weight = 160 + weigh(contactData.getName()) + weigh(contactData.getCompany()) + weigh(contactData.getRole());
+            for (final Map.Entry<String, String> phoneNumber : contactData.getPhoneNumbers().entrySet())
+                weight += 32 + weigh(phoneNumber.getKey()) + weigh(phoneNumber.getValue());
+            for (final Map.Entry<String, String> email : contactData.getEmails().entrySet())
+                weight += 32 + weigh(email.getKey()) + weigh(email.getValue());
+            for (final Map.Entry<String, Address> address : contactData.getAddresses().entrySet()) {
+                weight += 64 + weigh(address.getKey()) + weigh(address.getValue().getStreet()) + weigh(address.getValue().getCity()) +
+                    weigh(address.getValue().getState()) + weigh(address.getValue().getCountry()) + weigh(address.getValue().getZipcode());
+            }
+            return weight;
+        }
+
+        private static Map<String, Address> copyOf(final Map<String, Address> addresses) {
+            final Map<String, Address> copy = new HashMap<>(addresses.size() * 2);
+            addresses.forEach((mark, address) -> copy.put(mark, Address.builder()
+                .street(address.getStreet())
+                .city(address.getCity())
+                .state(address.getState())
+                .country(address.getCountry())
+                .zipcode(address.getZipcode())
+                .build()
+            ));
+            return Map.copyOf(copy);
+        }
+
+        private static long weigh(final String value) {
+            return value == null ? 0 : 48 + value.length();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package contact.manager.api.contact;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+@Getter
+public final class ContactChanges {
+
+    public static final long NO_TOKEN = -1;
+
+    private final List<ContactData> updated;
+    private final List<UUID> deleted;
+    private final String token;
+
+    public ContactChanges(final List<Contact> updated, final List<UUID> deleted, final long version) {
+        this.updated = Contact.toListOfContactData(updated);
+        this.deleted = deleted;
+        this.token = Long.toString(version);
+    }
+
+    public static long parseToken(final String token) {
+        if (Objects.isNull(token) || token.isBlank()) return NO_TOKEN;
+        try {
+            final long version = Long.parseLong(token);
+            if (version >= 0) return version;
+        }
+        catch (NumberFormatException ignored) {
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid sync token");
+    }
+}
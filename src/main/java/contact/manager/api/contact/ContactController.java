@@ -1,48 +1,393 @@
 package contact.manager.api.contact;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import contact.manager.api.global.ViolationResponse;
+import contact.manager.api.misc.JsonMergePatch;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindException;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.Validator;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/contacts")
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 public class ContactController implements ContactControllerDoc {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    private static final int EXPORT_BUFFER_SIZE = 8 * 1024;
+
+    private static final Pattern ENTITY_TAG = Pattern.compile("(W/)?\"([^\"]*)\"");
+
     private final ContactManagerService contactManagerService;
 
-    @GetMapping
-    public List<ContactData> getAll(@AuthenticationPrincipal Jwt jwt) {
-        return Contact.toListOfContactData(contactManagerService.findAllByUserId(getUserFromSub(jwt)));
+    private final ObjectMapper objectMapper;
+
+    private final Validator validator;
+
+    @GetMapping(params = {"!fields", "!stream", "!view", "!limit"})
+    public ResponseEntity<byte[]> getAll(@AuthenticationPrincipal Jwt jwt, WebRequest request) {
+        final String userId = getUserFromSub(jwt);
+        final long version = contactManagerService.findListVersionByUserId(userId);
+        final String eTag = eTag(version);
+        if (request.checkNotModified(eTag))
+            return null;
+        return ResponseEntity.ok()
+            .eTag(eTag)
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(contactManagerService.findAllJsonByUserId(userId, version));
+    }
+
+    @GetMapping(params = {"fields", "!stream", "!view", "!limit"})
+    public List<Map<String, Object>> getAllWithFields(@RequestParam("fields") String fields, @AuthenticationPrincipal Jwt jwt) {
+        final Set<ContactField> selectedFields = ContactField.parse(fields);
+        return contactManagerService.findAllByUserId(getUserFromSub(jwt), selectedFields)
+            .stream()
+            .map(contact -> ContactField.select(contact, selectedFields))
+            .toList();
+    }
+
+    @GetMapping(params = {"stream=true", "!fields", "!view", "!limit"})
+    public void streamAll(@AuthenticationPrincipal Jwt jwt, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        final JsonGenerator jsonGenerator = objectMapper.getFactory().createGenerator(response.getOutputStream());
+        jsonGenerator.writeStartArray();
+        contactManagerService.forEachByUserId(getUserFromSub(jwt), contact -> {
+            try {
+                jsonGenerator.writeObject(contact.toContactDta());
+            }
+            catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        });
+        jsonGenerator.writeEndArray();
+        jsonGenerator.close();
+    }
+
+    @GetMapping(params = {"view=summary", "!fields", "!stream", "!limit"})
+    public List<ContactSummary> getSummaries(@AuthenticationPrincipal Jwt jwt) {
+        return contactManagerService.findAllSummariesByUserId(getUserFromSub(jwt));
+    }
+
+    @GetMapping(params = {"limit", "!fields", "!stream", "!view"})
+    public ContactPage getPage(
+        @RequestParam("limit") int limit,
+        @RequestParam(value = "after", required = false) String after,
+        @AuthenticationPrincipal Jwt jwt
+    ) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE)
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_PAGE_SIZE);
+        final ContactCursor cursor = ContactCursor.decode(after);
+        final List<Contact> contacts = contactManagerService
+            .findPageByUserId(getUserFromSub(jwt), cursor.getName(), cursor.getId(), limit + 1);
+        return new ContactPage(contacts, limit);
+    }
+
+    @GetMapping("/export")
+    public void exportAll(
+        @RequestParam(value = "format", defaultValue = "csv") String format,
+        @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+        @AuthenticationPrincipal Jwt jwt,
+        HttpServletResponse response
+    ) throws IOException {
+        final String userId = getUserFromSub(jwt);
+        final ContactFormat contactFormat = ContactFormat.ofExtension(format);
+        // fails with 404 for an unknown user before any header is committed
+        contactManagerService.findListVersionByUserId(userId);
+
+        response.setContentType(contactFormat.mediaType() + ";charset=UTF-8");
+        response.setHeader(
+            HttpHeaders.CONTENT_DISPOSITION,
+            ContentDisposition.attachment().filename("contacts." + contactFormat.extension()).build().toString()
+        );
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        final boolean gzip = acceptsGzip(acceptEncoding);
+        if (gzip) response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+
+        try (final OutputStream outputStream = gzip
+            ? new GZIPOutputStream(response.getOutputStream(), EXPORT_BUFFER_SIZE)
+            : new BufferedOutputStream(response.getOutputStream(), EXPORT_BUFFER_SIZE)
+        ) {
+            if (contactFormat == ContactFormat.CSV) {
+                contactManagerService.copyCsvByUserId(userId, outputStream);
+                return;
+            }
+            final Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), EXPORT_BUFFER_SIZE);
+            final ContactWriter contactWriter = new VCardContactWriter(writer);
+            contactManagerService.forEachByUserId(userId, contact -> {
+                try {
+                    contactWriter.write(contact);
+                }
+                catch (IOException exception) {
+                    throw new UncheckedIOException(exception);
+                }
+            });
+            writer.flush();
+        }
+    }
+
+    @GetMapping("/changes")
+    public ContactChanges getChanges(@RequestParam(value = "since", required = false) String since, @AuthenticationPrincipal Jwt jwt) {
+        return contactManagerService.findChangesByUserId(getUserFromSub(jwt), ContactChanges.parseToken(since));
     }
 
     @GetMapping("/{id}")
-    public ContactData getById(@PathVariable("id") UUID id, @AuthenticationPrincipal Jwt jwt) {
-        return contactManagerService.findByIdWithUser(id, getUserFromSub(jwt)).toContactDta();
+    public ResponseEntity<byte[]> getById(@PathVariable("id") UUID id, @AuthenticationPrincipal Jwt jwt, WebRequest request) {
+        final String userId = getUserFromSub(jwt);
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            final Optional<Long> version = contactManagerService.findVersionByIdWithUser(id, userId);
+            if (version.isPresent() && request.checkNotModified(eTag(version.get())))
+                return null;
+        }
+        final ContactJson contact = contactManagerService.findJsonByIdWithUser(id, userId);
+        return ResponseEntity.ok()
+            .eTag(eTag(contact.getVersion()))
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(contact.getJson());
+    }
+
+    @GetMapping(value = "/{id}", params = "fields")
+    public Map<String, Object> getByIdWithFields(
+        @PathVariable("id") UUID id,
+        @RequestParam("fields") String fields,
+        @AuthenticationPrincipal Jwt jwt
+    ) {
+        final Set<ContactField> selectedFields = ContactField.parse(fields);
+        return ContactField.select(contactManagerService.findByIdWithUser(id, getUserFromSub(jwt), selectedFields), selectedFields);
     }
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public void create(@RequestBody @Validated ContactData contactData, @AuthenticationPrincipal Jwt jwt) {
-        contactManagerService.saveWithUser(Contact.toContact(contactData), getUserFromSub(jwt));
+    public void create(
+        @RequestBody @Validated ContactData contactData,
+        @RequestHeader(value = IdempotencyKey.HEADER, required = false) String idempotencyKey,
+        @AuthenticationPrincipal Jwt jwt
+    ) {
+        contactManagerService.saveWithUser(
+            Contact.toContact(contactData),
+            getUserFromSub(jwt),
+            toIdempotencyKey(idempotencyKey, contactData)
+        );
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<List<ContactBatchResult>> createAll(
+        @RequestBody List<ContactData> contactDataList,
+        @RequestHeader(value = IdempotencyKey.HEADER, required = false) String idempotencyKey,
+        @AuthenticationPrincipal Jwt jwt
+    ) {
+        if (contactDataList.isEmpty() || contactDataList.size() > MAX_BATCH_SIZE)
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "batch must have between 1 and " + MAX_BATCH_SIZE + " contacts");
+
+        final List<ContactBatchResult> rejections = new ArrayList<>();
+        for (int index = 0; index < contactDataList.size(); index++) {
+            final Errors errors = validator.validateObject(contactDataList.get(index));
+            if (errors.hasFieldErrors())
+                rejections.add(ContactBatchResult.rejected(index, new ViolationResponse(errors.getFieldErrors()).getFieldViolations()));
+        }
+        if (!rejections.isEmpty())
+            return ResponseEntity.badRequest().body(rejections);
+
+        final List<UUID> ids = contactManagerService.saveAllWithUser(
+            contactDataList.stream().map(Contact::toContact).toList(),
+            getUserFromSub(jwt),
+            toIdempotencyKey(idempotencyKey, contactDataList)
+        );
+        final List<ContactBatchResult> results = new ArrayList<>(ids.size());
+        for (int index = 0; index < ids.size(); index++)
+            results.add(ContactBatchResult.created(index, ids.get(index)));
+        return ResponseEntity.status(HttpStatus.CREATED).body(results);
+    }
+
+    @PostMapping(
+        value = "/import",
+        consumes = {ContactFormat.CSV_MEDIA_TYPE, ContactFormat.VCARD_MEDIA_TYPE, ContactFormat.LEGACY_VCARD_MEDIA_TYPE},
+        produces = MediaType.APPLICATION_NDJSON_VALUE
+    )
+    public void importAll(
+        @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+        @AuthenticationPrincipal Jwt jwt,
+        HttpServletRequest request,
+        HttpServletResponse response
+    ) throws IOException {
+        final String userId = getUserFromSub(jwt);
+        final MediaType mediaType = MediaType.parseMediaType(contentType);
+        final Reader requestReader = new InputStreamReader(
+            request.getInputStream(),
+            Objects.requireNonNullElse(mediaType.getCharset(), StandardCharsets.UTF_8)
+        );
+        final ContactReader contactReader = ContactFormat.of(mediaType).reader(requestReader);
+
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        // left open when the import fails before its first result, so that the error can still be answered
+        final SequenceWriter results = objectMapper.writer().withRootValueSeparator("\n").writeValues(response.getOutputStream());
+        contactManagerService.importAll(contactReader, userId, batchResults -> writeAll(results, batchResults));
+        results.close();
+    }
+
+    @PostMapping("/batch-get")
+    public ContactBatchGetResult getAllByIds(@RequestBody List<UUID> ids, @AuthenticationPrincipal Jwt jwt) {
+        if (ids.isEmpty() || ids.size() > MAX_BATCH_SIZE)
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "batch must have between 1 and " + MAX_BATCH_SIZE + " ids");
+        final Set<UUID> uniqueIds = new LinkedHashSet<>(ids);
+        return new ContactBatchGetResult(uniqueIds, contactManagerService.findAllByIdsWithUser(uniqueIds, getUserFromSub(jwt)));
     }
 
     @PutMapping("/{id}")
     @ResponseStatus(HttpStatus.OK)
-    public void update(@PathVariable(value = "id") UUID id, @RequestBody @Validated ContactData contactData, @AuthenticationPrincipal Jwt jwt) {
-        contactManagerService.updateWithUser(Contact.toContact(contactData, id), getUserFromSub(jwt));
+    public void update(
+        @PathVariable(value = "id") UUID id,
+        @RequestBody @Validated ContactData contactData,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+        @AuthenticationPrincipal Jwt jwt
+    ) {
+        contactManagerService.updateWithUser(Contact.toContact(contactData, id), expectedVersions(ifMatch), getUserFromSub(jwt));
+    }
+
+    @PatchMapping(value = "/{id}", consumes = {JsonMergePatch.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public void patch(
+        @PathVariable("id") UUID id,
+        @RequestBody JsonNode patch,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+        @AuthenticationPrincipal Jwt jwt
+    ) throws BindException {
+        if (!patch.isObject())
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "merge patch must be a JSON object");
+        contactManagerService.patchWithUser(id, expectedVersions(ifMatch), getUserFromSub(jwt), contactData -> {
+            final ContactData patchedContactData = applyMergePatch(contactData, patch);
+            final BindingResult bindingResult = new BeanPropertyBindingResult(patchedContactData, "contactData");
+            validator.validate(patchedContactData, bindingResult);
+            if (bindingResult.hasErrors())
+                throw new BindException(bindingResult);
+            return patchedContactData;
+        });
+    }
+
+    @PostMapping("/bulk-delete")
+    public ContactBulkDeleteResult deleteAllByIds(@RequestBody List<UUID> ids, @AuthenticationPrincipal Jwt jwt) {
+        if (ids.isEmpty() || ids.size() > MAX_BATCH_SIZE)
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "batch must have between 1 and " + MAX_BATCH_SIZE + " ids");
+        final Set<UUID> uniqueIds = new LinkedHashSet<>(ids);
+        return new ContactBulkDeleteResult(uniqueIds, contactManagerService.deleteAllByIdsWithUser(uniqueIds, getUserFromSub(jwt)));
     }
 
     @DeleteMapping("/{id}")
-    public void delete(@PathVariable("id") UUID id, @AuthenticationPrincipal Jwt jwt) {
-        contactManagerService.deleteByIdWithUser(id, getUserFromSub(jwt));
+    public void delete(
+        @PathVariable("id") UUID id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+        @AuthenticationPrincipal Jwt jwt
+    ) {
+        contactManagerService.deleteByIdWithUser(id, expectedVersions(ifMatch), getUserFromSub(jwt));
+    }
+
+    private static boolean acceptsGzip(final String acceptEncoding) {
+        if (acceptEncoding == null) return false;
+        for (final String coding : acceptEncoding.split(",")) {
+            final String[] nameAndParameters = coding.split(";");
+            if (!nameAndParameters[0].strip().equalsIgnoreCase("gzip")) continue;
+            for (int index = 1; index < nameAndParameters.length; index++) {
+                if (nameAndParameters[index].strip().matches("(?i)q=0(\\.0{0,3})?")) return false;
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static void writeAll(final SequenceWriter results, final List<ContactBatchResult> batchResults) {
+        try {
+            results.writeAll(batchResults);
+            results.flush();
+        }
+        catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private ContactData applyMergePatch(final ContactData contactData, final JsonNode patch) {
+        try {
+            return objectMapper.treeToValue(JsonMergePatch.apply(objectMapper.valueToTree(contactData), patch), ContactData.class);
+        }
+        catch (JsonProcessingException exception) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, exception.getOriginalMessage());
+        }
+    }
+
+    private IdempotencyKey toIdempotencyKey(final String key, final Object requestBody) {
+        if (key == null) return null;
+        return IdempotencyKey.of(key, toJson(requestBody));
+    }
+
+    private byte[] toJson(final Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        }
+        catch (JsonProcessingException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private static String eTag(final long version) {
+        return "\"" + version + "\"";
+    }
+
+    // If-Match is a list of entity tags, weak ones never match and only versions can match a strong one
+    private static Set<Long> expectedVersions(final String ifMatch) {
+        if (ifMatch == null || ifMatch.strip().equals("*")) return null;
+        final Set<Long> versions = new LinkedHashSet<>();
+        final Matcher eTag = ENTITY_TAG.matcher(ifMatch);
+        while (eTag.find())
+            if (eTag.group(1) == null && eTag.group(2).matches("\\d{1,18}"))
+                versions.add(Long.parseLong(eTag.group(2)));
+        if (versions.isEmpty()) throw modifiedByAnotherRequest();
+        return versions;
+    }
+
+    private static ResponseStatusException modifiedByAnotherRequest() {
+        return new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Contact was modified by another request");
     }
 
     private String getUserFromSub(final Jwt jwt) {
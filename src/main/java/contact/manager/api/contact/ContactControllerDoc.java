@@ -1,6 +1,7 @@
 package contact.manager.api.contact;
 
 import contact.manager.api.global.ViolationResponse;
+import com.fasterxml.jackson.databind.JsonNode;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -9,31 +10,152 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.validation.BindException;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Tag(name = "Contacts")
 interface ContactControllerDoc {
 
     @Operation(
-        description = "Get all of a user's contacts",
+        description = "Get all of a user's contacts, or 304 when the If-None-Match header holds the list's current ETag",
+        responses = {
+            @ApiResponse(
+                description = "A list of contacts in JSON format",
+                responseCode = "200",
+                content = @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    array = @ArraySchema(minItems = 2, schema = @Schema(implementation = ContactData.class))
+                )
+            ),
+            @ApiResponse(
+                description = "Not modified",
+                responseCode = "304"
+            )
+        },
+        security = @SecurityRequirement(name = "oauth2")
+    )
+    ResponseEntity<byte[]> getAll(Jwt jwt, WebRequest request);
+
+    @Operation(
+        description = "Get all of a user's contacts with only the comma-separated fields requested, e.g. name,phoneNumbers",
+        responses = {
+            @ApiResponse(
+                description = "A list of contacts holding only the requested fields",
+                responseCode = "200",
+                content = @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    array = @ArraySchema(schema = @Schema(implementation = ContactData.class))
+                )
+            ),
+            @ApiResponse(
+                description = "Bad request",
+                responseCode = "400",
+                content = @Content(
+                    mediaType = MediaType.TEXT_PLAIN_VALUE,
+                    examples = @ExampleObject(value = "Unknown field: nickname")
+                )
+            )
+        },
+        security = @SecurityRequirement(name = "oauth2")
+    )
+    List<Map<String, Object>> getAllWithFields(String fields, Jwt jwt);
+
+    @Operation(
+        description = "Stream all of a user's contacts without holding them in memory, intended for full exports",
         responses = @ApiResponse(
-            description = "A list of contacts in JSON format",
+            description = "A list of contacts in JSON format written as it is read from the database",
             responseCode = "200",
             content = @Content(
                 mediaType = MediaType.APPLICATION_JSON_VALUE,
-                array = @ArraySchema(minItems = 2, schema = @Schema(implementation = ContactData.class))
+                array = @ArraySchema(schema = @Schema(implementation = ContactData.class))
             )
         ),
         security = @SecurityRequirement(name = "oauth2")
     )
-    List<ContactData> getAll(Jwt jwt);
+    void streamAll(Jwt jwt, HttpServletResponse response) throws IOException;
 
     @Operation(
-        description = "Get a user's contact by its id",
+        description = "Get a summary of all of a user's contacts with just their id, name, company and primary phone number",
+        responses = @ApiResponse(
+            description = "A list of contact summaries in JSON format",
+            responseCode = "200",
+            content = @Content(
+                mediaType = MediaType.APPLICATION_JSON_VALUE,
+                array = @ArraySchema(schema = @Schema(implementation = ContactSummary.class))
+            )
+        ),
+        security = @SecurityRequirement(name = "oauth2")
+    )
+    List<ContactSummary> getSummaries(Jwt jwt);
+
+    @Operation(
+        description = "Get a page of a user's contacts ordered by name",
+        responses = {
+            @ApiResponse(
+                description = "A page of contacts along with the cursor for the next page, which is null on the last page",
+                responseCode = "200",
+                content = @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = ContactPage.class)
+                )
+            ),
+            @ApiResponse(
+                description = "Bad request",
+                responseCode = "400",
+                content = @Content(
+                    mediaType = MediaType.TEXT_PLAIN_VALUE,
+                    examples = @ExampleObject(value = "Invalid cursor")
+                )
+            )
+        },
+        security = @SecurityRequirement(name = "oauth2")
+    )
+    ContactPage getPage(int limit, String after, Jwt jwt);
+
+    @Operation(
+        description = "Get the contacts created, updated or deleted since the sync token of a previous call, or all of them without a token",
+        responses = {
+            @ApiResponse(
+                description = "The changed contacts, the ids of the deleted ones and the token to send on the next call",
+                responseCode = "200",
+                content = @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = ContactChanges.class)
+                )
+            ),
+            @ApiResponse(
+                description = "Bad request",
+                responseCode = "400",
+                content = @Content(
+                    mediaType = MediaType.TEXT_PLAIN_VALUE,
+                    examples = @ExampleObject(value = "Invalid sync token")
+                )
+            ),
+            @ApiResponse(
+                description = "The sync token is older than the retained deletions, so every contact has to be fetched again without it",
+                responseCode = "410",
+                content = @Content(
+                    mediaType = MediaType.TEXT_PLAIN_VALUE,
+                    examples = @ExampleObject(value = "Sync token expired, sync again without it")
+                )
+            )
+        },
+        security = @SecurityRequirement(name = "oauth2")
+    )
+    ContactChanges getChanges(String since, Jwt jwt);
+
+    @Operation(
+        description = "Get a user's contact by its id, or 304 when the If-None-Match header holds its current ETag",
         responses = {
             @ApiResponse(
                 description = "The contact",
@@ -59,13 +181,49 @@ interface ContactControllerDoc {
                     examples = @ExampleObject(value = "Contact belongs to another user")
                 )
             ),
+            @ApiResponse(
+                description = "Not modified",
+                responseCode = "304"
+            ),
         },
         security = @SecurityRequirement(name = "oauth2")
     )
-    ContactData getById(UUID id, Jwt jwt);
+    ResponseEntity<byte[]> getById(UUID id, Jwt jwt, WebRequest request);
 
     @Operation(
-        description = "Create a new contact",
+        description = "Get a user's contact by its id with only the comma-separated fields requested, e.g. name,emails",
+        responses = {
+            @ApiResponse(
+                description = "The contact holding only the requested fields",
+                responseCode = "200",
+                content = @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = ContactData.class)
+                )
+            ),
+            @ApiResponse(
+                description = "Not found",
+                responseCode = "404",
+                content = @Content(
+                    mediaType = MediaType.TEXT_PLAIN_VALUE,
+                    examples = @ExampleObject(value = "Contact not found")
+                )
+            ),
+            @ApiResponse(
+                description = "Bad request",
+                responseCode = "400",
+                content = @Content(
+                    mediaType = MediaType.TEXT_PLAIN_VALUE,
+                    examples = @ExampleObject(value = "Unknown field: nickname")
+                )
+            ),
+        },
+        security = @SecurityRequirement(name = "oauth2")
+    )
+    Map<String, Object> getByIdWithFields(UUID id, String fields, Jwt jwt);
+
+    @Operation(
+        description = "Create a new contact, only once per Idempotency-Key when the header is sent",
         responses = {
             @ApiResponse(responseCode = "201"),
             @ApiResponse(
@@ -75,14 +233,131 @@ interface ContactControllerDoc {
                     mediaType = MediaType.APPLICATION_JSON_VALUE,
                     schema = @Schema(implementation = ViolationResponse.class)
                 )
+            ),
+            @ApiResponse(
+                description = "The Idempotency-Key was already used for a different contact",
+                responseCode = "422",
+                content = @Content(
+                    mediaType = MediaType.TEXT_PLAIN_VALUE,
+                    examples = @ExampleObject(value = "Idempotency-Key was already used for a different request")
+                )
             )
         },
         security = @SecurityRequirement(name = "oauth2")
     )
-    void create(ContactData contactData, Jwt jwt);
+    void create(ContactData contactData, String idempotencyKey, Jwt jwt);
 
     @Operation(
-        description = "Update entirely a user's contact by its id",
+        description = "Create up to 1000 contacts at once in a single transaction, either all of them or none. " +
+            "Retrying with the same Idempotency-Key returns the ids of the first attempt without creating anything",
+        responses = {
+            @ApiResponse(
+                description = "The id given to each contact, in the order they were sent",
+                responseCode = "201",
+                content = @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    array = @ArraySchema(schema = @Schema(implementation = ContactBatchResult.class))
+                )
+            ),
+            @ApiResponse(
+                description = "The field violations of each rejected contact, in which case nothing is created",
+                responseCode = "400",
+                content = @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    array = @ArraySchema(schema = @Schema(implementation = ContactBatchResult.class))
+                )
+            ),
+            @ApiResponse(
+                description = "The Idempotency-Key was already used for a different batch",
+                responseCode = "422",
+                content = @Content(
+                    mediaType = MediaType.TEXT_PLAIN_VALUE,
+                    examples = @ExampleObject(value = "Idempotency-Key was already used for a different request")
+                )
+            )
+        },
+        security = @SecurityRequirement(name = "oauth2")
+    )
+    ResponseEntity<List<ContactBatchResult>> createAll(List<ContactData> contactDataList, String idempotencyKey, Jwt jwt);
+
+    @Operation(
+        description = "Import contacts from a CSV file, whose header names the fields (name, birthday, company, role, " +
+            "phoneNumbers.<mark>, emails.<mark>, addresses.<mark>.<street|city|state|country|zipcode>), or from vCard 3 or 4. " +
+            "Valid records are saved in batches of 200 while the file is still being read",
+        responses = {
+            @ApiResponse(
+                description = "One result per record in newline delimited JSON, with the id of each created contact " +
+                    "or the violations of each rejected one, written as the import progresses",
+                responseCode = "200",
+                content = @Content(
+                    mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                    schema = @Schema(implementation = ContactBatchResult.class)
+                )
+            ),
+            @ApiResponse(
+                description = "Bad request",
+                responseCode = "400",
+                content = @Content(
+                    mediaType = MediaType.TEXT_PLAIN_VALUE,
+                    examples = @ExampleObject(value = "Unknown CSV column: nickname")
+                )
+            )
+        },
+        security = @SecurityRequirement(name = "oauth2")
+    )
+    void importAll(String contentType, Jwt jwt, HttpServletRequest request, HttpServletResponse response) throws IOException;
+
+    @Operation(
+        description = "Export all of a user's contacts as a CSV file with one column per field and mark, which can be imported again, " +
+            "or as vCard 4. The file is streamed while it is read from the database and gzip encoded when the Accept-Encoding header allows it",
+        responses = {
+            @ApiResponse(
+                description = "The contacts as an attachment",
+                responseCode = "200",
+                content = {
+                    @Content(mediaType = "text/csv"),
+                    @Content(mediaType = "text/vcard")
+                }
+            ),
+            @ApiResponse(
+                description = "Bad request",
+                responseCode = "400",
+                content = @Content(
+                    mediaType = MediaType.TEXT_PLAIN_VALUE,
+                    examples = @ExampleObject(value = "format must be csv or vcf")
+                )
+            )
+        },
+        security = @SecurityRequirement(name = "oauth2")
+    )
+    void exportAll(String format, String acceptEncoding, Jwt jwt, HttpServletResponse response) throws IOException;
+
+    @Operation(
+        description = "Get up to 1000 of a user's contacts by their ids at once",
+        responses = {
+            @ApiResponse(
+                description = "The contacts found in the order their ids were sent, and the ids that are missing or belong to another user",
+                responseCode = "200",
+                content = @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = ContactBatchGetResult.class)
+                )
+            ),
+            @ApiResponse(
+                description = "Bad request",
+                responseCode = "400",
+                content = @Content(
+                    mediaType = MediaType.TEXT_PLAIN_VALUE,
+                    examples = @ExampleObject(value = "batch must have between 1 and 1000 ids")
+                )
+            )
+        },
+        security = @SecurityRequirement(name = "oauth2")
+    )
+    ContactBatchGetResult getAllByIds(List<UUID> ids, Jwt jwt);
+
+    @Operation(
+        description = "Update entirely a user's contact by its id, only if it still has one of the ETags sent in If-Match",
         responses = {
             @ApiResponse(responseCode = "200"),
             @ApiResponse(
@@ -106,14 +381,62 @@ interface ContactControllerDoc {
                         examples = @ExampleObject(value = "Contact belongs to another user")
                     )
                 }
+            ),
+            @ApiResponse(
+                description = "Precondition failed",
+                responseCode = "412",
+                content = @Content(
+                    mediaType = MediaType.TEXT_PLAIN_VALUE,
+                    examples = @ExampleObject(value = "Contact was modified by another request")
+                )
             )
         },
         security = @SecurityRequirement(name = "oauth2")
     )
-    void update(UUID id, ContactData contactData, Jwt jwt);
+    void update(UUID id, ContactData contactData, String ifMatch, Jwt jwt);
 
     @Operation(
-        description = "Delete a user's contact by its id",
+        description = "Update part of a user's contact by its id with a JSON merge patch (RFC 7396), where null removes a field or a marked entry, " +
+            "only if it still has one of the ETags sent in If-Match",
+        responses = {
+            @ApiResponse(responseCode = "200"),
+            @ApiResponse(
+                description = "Not found",
+                responseCode = "404",
+                content = @Content(
+                    mediaType = MediaType.TEXT_PLAIN_VALUE,
+                    examples = @ExampleObject(value = "Contact not found")
+                )
+            ),
+            @ApiResponse(
+                description = "Bad request",
+                responseCode = "400",
+                content = {
+                    @Content(
+                        mediaType = MediaType.APPLICATION_JSON_VALUE,
+                        schema = @Schema(implementation = ViolationResponse.class)
+                    ),
+                    @Content(
+                        mediaType = MediaType.TEXT_PLAIN_VALUE,
+                        examples = @ExampleObject(value = "Contact belongs to another user")
+                    )
+                }
+            ),
+            @ApiResponse(
+                description = "Precondition failed",
+                responseCode = "412",
+                content = @Content(
+                    mediaType = MediaType.TEXT_PLAIN_VALUE,
+                    examples = @ExampleObject(value = "Contact was modified by another request")
+                )
+            )
+        },
+        security = @SecurityRequirement(name = "oauth2")
+    )
+    void patch(UUID id, JsonNode patch, String ifMatch, Jwt jwt) throws BindException;
+
+    @Operation(
+        description = "Delete a user's contact by its id, only if it still has one of the ETags sent in If-Match",
         responses = {
             @ApiResponse(responseCode = "200"),
             @ApiResponse(
@@ -131,9 +454,41 @@ interface ContactControllerDoc {
                     mediaType = MediaType.TEXT_PLAIN_VALUE,
                     examples = @ExampleObject(value = "Contact belongs to another user")
                 )
+            ),
+            @ApiResponse(
+                description = "Precondition failed",
+                responseCode = "412",
+                content = @Content(
+                    mediaType = MediaType.TEXT_PLAIN_VALUE,
+                    examples = @ExampleObject(value = "Contact was modified by another request")
+                )
+            )
+        },
+        security = @SecurityRequirement(name = "oauth2")
+    )
+    void delete(UUID id, String ifMatch, Jwt jwt);
+
+    @Operation(
+        description = "Delete up to 1000 of a user's contacts by their ids at once",
+        responses = {
+            @ApiResponse(
+                description = "The ids deleted and the ids that are missing or belong to another user, in the order they were sent",
+                responseCode = "200",
+                content = @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = ContactBulkDeleteResult.class)
+                )
+            ),
+            @ApiResponse(
+                description = "Bad request",
+                responseCode = "400",
+                content = @Content(
+                    mediaType = MediaType.TEXT_PLAIN_VALUE,
+                    examples = @ExampleObject(value = "batch must have between 1 and 1000 ids")
+                )
             )
         },
         security = @SecurityRequirement(name = "oauth2")
     )
-    void delete(UUID id, Jwt jwt);
+    ContactBulkDeleteResult deleteAllByIds(List<UUID> ids, Jwt jwt);
 }
\ No newline at end of file
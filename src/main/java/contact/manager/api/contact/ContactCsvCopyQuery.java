@@ -0,0 +1,62 @@
+package contact.manager.api.contact;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// the marks are read from settings and picked by position, so no user data is part of the statement
+final class ContactCsvCopyQuery {
+
+    static final String USER_ID_SETTING = "contact_manager.export_user_id";
+
+    static final String PHONE_NUMBER_MARKS_SETTING = "contact_manager.export_phone_number_marks";
+
+    static final String EMAIL_MARKS_SETTING = "contact_manager.export_email_marks";
+
+    static final String ADDRESS_MARKS_SETTING = "contact_manager.export_address_marks";
+
+    // PostgreSQL selects at most 1664 columns, wider exports are written row by row instead
+    static final int MAX_COLUMNS = 1000;
+
+    private final List<String> marks = new ArrayList<>();
+    private final List<String> columns = new ArrayList<>(List.of("c.name", "c.birthday", "c.company", "c.role"));
+    private final List<String> joins = new ArrayList<>();
+
+    ContactCsvCopyQuery(final int phoneNumberMarks, final int emailMarks, final int addressMarks) {
+        pivot("phone_numbers", "p", PHONE_NUMBER_MARKS_SETTING, phoneNumberMarks, List.of("phone_number"));
+        pivot("emails", "e", EMAIL_MARKS_SETTING, emailMarks, List.of("email"));
+        pivot("addresses", "a", ADDRESS_MARKS_SETTING, addressMarks, CsvContactWriter.ADDRESS_PARTS);
+    }
+
+    boolean fitsInOneStatement() {
+        return columns.size() <= MAX_COLUMNS;
+    }
+
+    String copyStatement() {
+        return "copy (" + (marks.isEmpty() ? "" : "with " + String.join(", ", marks) + " ") +
+            "select " + String.join(", ", columns) + " from contacts c " + String.join(" ", joins) +
+            " where c.user_id = current_setting('" + USER_ID_SETTING + "') order by c.name asc, c.contact_id asc)" +
+            " to stdout with (format csv)";
+    }
+
+    private void pivot(
+        final String table,
+        final String alias,
+        final String setting,
+        final int markCount,
+        final List<String> valueColumns
+    ) {
+        if (markCount == 0) return;
+        marks.add(alias + "m as (select m.mark, m.ordinal from jsonb_array_elements_text(" +
+            "cast(current_setting('" + setting + "') as jsonb)) with ordinality m(mark, ordinal))");
+        final List<String> aggregates = new ArrayList<>();
+        for (int position = 1; position <= markCount; position++) {
+            for (final String valueColumn : valueColumns) {
+                final String name = alias + aggregates.size();
+                aggregates.add("max(x." + valueColumn + ") filter (where m.ordinal = " + position + ") as " + name);
+                columns.add(alias + "." + name);
+            }
+        }
+        joins.add("left join lateral (select " + String.join(", ", aggregates) + " from " + table + " x join " +
+            alias + "m m on m.mark = x.mark where x.contact_id = c.contact_id) " + alias + " on true");
+    }
+}
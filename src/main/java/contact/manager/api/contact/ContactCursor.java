@@ -0,0 +1,48 @@
+package contact.manager.api.contact;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.UUID;
+
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ContactCursor {
+
+    private static final ContactCursor FIRST = new ContactCursor("", new UUID(0, 0));
+
+    private static final int UUID_LENGTH = 36;
+
+    private final String name;
+    private final UUID id;
+
+    public static ContactCursor first() {
+        return FIRST;
+    }
+
+    public static ContactCursor after(final Contact contact) {
+        return new ContactCursor(contact.getName(), contact.getId());
+    }
+
+    public static ContactCursor decode(final String encodedCursor) {
+        if (Objects.isNull(encodedCursor) || encodedCursor.isBlank()) return FIRST;
+        try {
+            final String decoded = new String(Base64.getUrlDecoder().decode(encodedCursor), StandardCharsets.UTF_8);
+            return new ContactCursor(decoded.substring(UUID_LENGTH), UUID.fromString(decoded.substring(0, UUID_LENGTH)));
+        }
+        catch (IllegalArgumentException | IndexOutOfBoundsException exception) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        final byte[] raw = (id.toString() + name).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+}
@@ -0,0 +1,50 @@
+package contact.manager.api.contact;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.*;
+import java.util.function.Function;
+
+@Getter
+@RequiredArgsConstructor
+public enum ContactField {
+
+    ID("id", Contact::getId),
+    NAME("name", Contact::getName),
+    ADDED_ON("addedOn", Contact::getAddedOn),
+    BIRTHDAY("birthday", Contact::getBirthday),
+    COMPANY("company", Contact::getCompany),
+    ROLE("role", Contact::getRole),
+    PHONE_NUMBERS("phoneNumbers", Contact::getPhoneNumberMap),
+    EMAILS("emails", Contact::getEmailMap),
+    ADDRESSES("addresses", Contact::getAddressMap);
+
+    private final String jsonName;
+    private final Function<Contact, Object> reader;
+
+    public static Set<ContactField> parse(final String fields) {
+        final Set<ContactField> parsedFields = EnumSet.noneOf(ContactField.class);
+        for (final String field : fields.split(",")) {
+            if (field.isBlank()) continue;
+            parsedFields.add(
+                Arrays.stream(values())
+                    .filter(contactField -> contactField.getJsonName().equals(field.trim()))
+                    .findFirst()
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown field: " + field.trim()))
+            );
+        }
+        if (parsedFields.isEmpty())
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "fields must not be empty");
+        return parsedFields;
+    }
+
+    public static Map<String, Object> select(final Contact contact, final Set<ContactField> fields) {
+        final Map<String, Object> selectedFields = new LinkedHashMap<>();
+        for (final ContactField field : fields)
+            selectedFields.put(field.getJsonName(), field.getReader().apply(contact));
+        return selectedFields;
+    }
+}
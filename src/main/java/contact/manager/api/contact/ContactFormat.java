@@ -0,0 +1,60 @@
+package contact.manager.api.contact;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.Reader;
+
+public enum ContactFormat {
+
+    CSV("text/csv", "csv") {
+        @Override
+        public ContactReader reader(final Reader reader) throws IOException {
+            return CsvContactReader.open(reader);
+        }
+    },
+    VCARD("text/vcard", "vcf") {
+        @Override
+        public ContactReader reader(final Reader reader) {
+            return new VCardContactReader(reader);
+        }
+    };
+
+    public static final String CSV_MEDIA_TYPE = "text/csv";
+    public static final String VCARD_MEDIA_TYPE = "text/vcard";
+    public static final String LEGACY_VCARD_MEDIA_TYPE = "text/x-vcard";
+
+    private final String mediaType;
+    private final String extension;
+
+    ContactFormat(final String mediaType, final String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public String mediaType() {
+        return mediaType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public abstract ContactReader reader(Reader reader) throws IOException;
+
+    public static ContactFormat of(final MediaType mediaType) {
+        if (mediaType.isCompatibleWith(MediaType.parseMediaType(CSV_MEDIA_TYPE))) return CSV;
+        if (mediaType.isCompatibleWith(MediaType.parseMediaType(VCARD_MEDIA_TYPE))) return VCARD;
+        if (mediaType.isCompatibleWith(MediaType.parseMediaType(LEGACY_VCARD_MEDIA_TYPE))) return VCARD;
+        throw new ResponseStatusException(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "Unsupported contact format: " + mediaType);
+    }
+
+    public static ContactFormat ofExtension(final String extension) {
+        for (final ContactFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(extension)) return format;
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "format must be csv or vcf");
+    }
+}
@@ -0,0 +1,69 @@
+package contact.manager.api.contact;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Component
+public class ContactIdempotencyStore {
+
+    private final ContactRepository contactRepository;
+    private final long timeToLiveSeconds;
+
+    @Autowired
+    public ContactIdempotencyStore(
+        final ContactRepository contactRepository,
+        @Value("${contact-manager.idempotency-keys.time-to-live:PT24H}") final Duration timeToLive
+    ) {
+        this.contactRepository = contactRepository;
+        this.timeToLiveSeconds = timeToLive.toSeconds();
+    }
+
+    public Optional<List<UUID>> claim(final String userId, final IdempotencyKey idempotencyKey) {
+        if (contactRepository.claimIdempotencyKey(userId, idempotencyKey.getKey(), idempotencyKey.getFingerprint(), timeToLiveSeconds) == 1)
+            return Optional.empty();
+        final IdempotencyRecord idempotencyRecord = contactRepository.findIdempotencyRecord(userId, idempotencyKey.getKey())
+            .filter(storedRecord -> storedRecord.getContactIds() != null)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.CONFLICT, "A request with this Idempotency-Key is still being processed"));
+        if (!idempotencyRecord.getFingerprint().equals(idempotencyKey.getFingerprint()))
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY, "Idempotency-Key was already used for a different request");
+        return Optional.of(parseIds(idempotencyRecord.getContactIds()));
+    }
+
+    public void complete(final String userId, final IdempotencyKey idempotencyKey, final List<UUID> contactIds) {
+        final String joinedIds = contactIds.stream().map(UUID::toString).collect(Collectors.joining(","));
+        contactRepository.completeIdempotencyKey(userId, idempotencyKey.getKey(), joinedIds);
+    }
+
+    @Transactional
+    @Scheduled(
+        initialDelayString = "${contact-manager.idempotency-keys.purge-interval:PT1H}",
+        fixedDelayString = "${contact-manager.idempotency-keys.purge-interval:PT1H}"
+    )
+    public void purgeExpired() {
+        contactRepository.deleteExpiredIdempotencyKeys(timeToLiveSeconds);
+    }
+
+    private static List<UUID> parseIds(final String joinedIds) {
+        if (joinedIds.isEmpty()) return List.of();
+        return Arrays.stream(joinedIds.split(",")).map(UUID::fromString).toList();
+    }
+
+    public interface IdempotencyRecord {
+
+        String getFingerprint();
+
+        String getContactIds();
+    }
+}
@@ -0,0 +1,12 @@
+package contact.manager.api.contact;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public final class ContactJson {
+
+    private final long version;
+    private final byte[] json;
+}
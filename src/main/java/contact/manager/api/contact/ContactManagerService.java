@@ -1,6 +1,15 @@
 package contact.manager.api.contact;
 
+import org.springframework.validation.BindException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface ContactManagerService extends ExtendedContactRepository {
 
@@ -8,9 +17,53 @@ public interface ContactManagerService extends ExtendedContactRepository {
 
     Contact findByIdWithUser(UUID contactId, String userId);
 
+    Contact findByIdWithUser(UUID contactId, String userId, Set<ContactField> fields);
+
+    ContactJson findJsonByIdWithUser(UUID contactId, String userId);
+
+    List<Contact> findAllByIdsWithUser(Collection<UUID> contactIds, String userId);
+
+    Optional<Long> findVersionByIdWithUser(UUID contactId, String userId);
+
+    List<Contact> findAllByUserId(String userId, Set<ContactField> fields);
+
+    long findListVersionByUserId(String userId);
+
+    byte[] findAllJsonByUserId(String userId, long version);
+
+    ContactChanges findChangesByUserId(String userId, long since);
+
+    void forEachByUserId(String userId, Consumer<Contact> action);
+
+    void copyCsvByUserId(String userId, OutputStream outputStream);
+
     void saveWithUser(Contact contact, String userId);
 
+    void saveWithUser(Contact contact, String userId, IdempotencyKey idempotencyKey);
+
+    List<UUID> saveAllWithUser(List<Contact> contacts, String userId);
+
+    List<UUID> saveAllWithUser(List<Contact> contacts, String userId, IdempotencyKey idempotencyKey);
+
+    void importAll(ContactReader contactReader, String userId, Consumer<List<ContactBatchResult>> results) throws IOException;
+
     void updateWithUser(Contact contact, String userId);
 
+    void updateWithUser(Contact contact, Set<Long> expectedVersions, String userId);
+
+    void patchWithUser(UUID contactId, Set<Long> expectedVersions, String userId, ContactPatch patch) throws BindException;
+
     void deleteByIdWithUser(UUID contactId, String userId);
+
+    void deleteByIdWithUser(UUID contactId, Set<Long> expectedVersions, String userId);
+
+    List<UUID> deleteAllByIdsWithUser(Collection<UUID> contactIds, String userId);
+
+    int deleteAllByUserId(String userId);
+
+    @FunctionalInterface
+    interface ContactPatch {
+
+        ContactData apply(ContactData contactData) throws BindException;
+    }
 }
\ No newline at end of file
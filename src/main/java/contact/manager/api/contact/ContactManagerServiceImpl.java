@@ -1,16 +1,48 @@
 package contact.manager.api.contact;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import contact.manager.api.global.NotFoundException;
+import contact.manager.api.global.ViolationResponse;
+import contact.manager.api.invalidation.CacheInvalidation;
+import contact.manager.api.invalidation.CacheInvalidationBus;
+import contact.manager.api.misc.Tools;
 import contact.manager.api.user.User;
 import contact.manager.api.user.UserService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.postgresql.PGConnection;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.validation.BindException;
+import org.springframework.validation.Errors;
+import org.springframework.validation.Validator;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
@@ -21,50 +53,366 @@ public class ContactManagerServiceImpl implements ContactManagerService {
 
     private final UserService userService;
 
+    private final ContactIdempotencyStore contactIdempotencyStore;
+
+    private final ContactCache contactCache;
+
+    private final MissingContactCache missingContactCache;
+
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    private final ObjectMapper objectMapper;
+
+    private final Validator validator;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private static final int STREAM_CHUNK_SIZE = 100;
+
+    private static final int IMPORT_BATCH_SIZE = 200;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Override
     public List<Contact> findAllByUserId(String userId) {
-        userService.findById(userId);
-        return contactRepository.findAllByUserId(userId);
+        userService.findReferenceById(userId);
+        final Optional<List<Contact>> cachedContacts = contactCache.getList(userId);
+        if (cachedContacts.isPresent())
+            return cachedContacts.get();
+        final long stamp = contactCache.stamp(userId);
+        final List<Contact> contacts = fetchCollections(contactRepository.findAllByUserId(userId));
+        contactCache.putList(userId, contacts, stamp);
+        return contacts;
+    }
+
+    @Override
+    public List<Contact> findPageByUserId(String userId, String name, UUID id, int limit) {
+        userService.findReferenceById(userId);
+        return fetchCollections(contactRepository.findPageByUserId(userId, name, id, limit));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachByUserId(String userId, Consumer<Contact> action) {
+        userService.findReferenceById(userId);
+        streamInChunks(userId, action);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void copyCsvByUserId(String userId, OutputStream outputStream) {
+        userService.findReferenceById(userId);
+        final List<String> phoneNumberMarks = contactRepository.findPhoneNumberMarksByUserId(userId);
+        final List<String> emailMarks = contactRepository.findEmailMarksByUserId(userId);
+        final List<String> addressMarks = contactRepository.findAddressMarksByUserId(userId);
+        final Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+        final CsvContactWriter csvContactWriter = new CsvContactWriter(writer, phoneNumberMarks, emailMarks, addressMarks);
+        final ContactCsvCopyQuery copyQuery = new ContactCsvCopyQuery(phoneNumberMarks.size(), emailMarks.size(), addressMarks.size());
+        try {
+            csvContactWriter.writeHeader();
+            if (!copyQuery.fitsInOneStatement()) {
+                streamInChunks(userId, contact -> {
+                    try {
+                        csvContactWriter.write(contact);
+                    }
+                    catch (IOException exception) {
+                        throw new UncheckedIOException(exception);
+                    }
+                });
+                writer.flush();
+                return;
+            }
+            writer.flush();
+        }
+        catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+        final Map<String, String> settings = Map.of(
+            ContactCsvCopyQuery.USER_ID_SETTING, userId,
+            ContactCsvCopyQuery.PHONE_NUMBER_MARKS_SETTING, toJson(phoneNumberMarks),
+            ContactCsvCopyQuery.EMAIL_MARKS_SETTING, toJson(emailMarks),
+            ContactCsvCopyQuery.ADDRESS_MARKS_SETTING, toJson(addressMarks)
+        );
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (final PreparedStatement statement = connection.prepareStatement("select set_config(?, ?, true)")) {
+                for (final Map.Entry<String, String> setting : settings.entrySet()) {
+                    statement.setString(1, setting.getKey());
+                    statement.setString(2, setting.getValue());
+                    statement.execute();
+                }
+            }
+            try {
+                connection.unwrap(PGConnection.class).getCopyAPI().copyOut(copyQuery.copyStatement(), outputStream);
+            }
+            catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        });
+    }
+
+    private void streamInChunks(final String userId, final Consumer<Contact> action) {
+        try (final Stream<Contact> contacts = contactRepository.streamAllByUserId(userId)) {
+            final Iterator<Contact> iterator = contacts.iterator();
+            final List<Contact> chunk = new ArrayList<>(STREAM_CHUNK_SIZE);
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == STREAM_CHUNK_SIZE || !iterator.hasNext()) {
+                    fetchCollections(chunk).forEach(action);
+                    chunk.clear();
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+
+    @Override
+    public List<ContactSummary> findAllSummariesByUserId(String userId) {
+        userService.findReferenceById(userId);
+        return contactRepository.findAllSummariesByUserId(userId);
     }
 
     @Override
     public List<Contact> findAll() {
-        return contactRepository.findAll();
+        return fetchCollections(contactRepository.findAll());
+    }
+
+    @Override
+    public List<Contact> findAllByUserId(String userId, Set<ContactField> fields) {
+        userService.findReferenceById(userId);
+        final List<Contact> contacts = contactRepository.findAllByUserId(userId);
+        contacts.forEach(contact -> contact.fetchCollections(fields));
+        return contacts;
     }
 
     @Override
     public Contact findByIdWithUser(UUID contactId, String userId) {
-        final Contact contact = findById(contactId);
-        final User user = contact.getUser();
-        if (!user.getId().equals(userId))
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Contact belongs to another user");
+        final Optional<Contact> cachedContact = contactCache.getContact(contactId, userId);
+        if (cachedContact.isPresent())
+            return cachedContact.get();
+        final long stamp = contactCache.stamp(userId);
+        final Contact contact = loadByIdWithUser(contactId, userId);
+        contact.fetchCollections();
+        contactCache.putContact(userId, contact, stamp);
         return contact;
     }
 
+    @Override
+    public Contact findByIdWithUser(UUID contactId, String userId, Set<ContactField> fields) {
+        final long stamp = missingContactCache.stamp();
+        if (missingContactCache.contains(contactId))
+            throw contactNotFound();
+        final Contact contact = contactRepository.findByIdAndUserId(contactId, userId)
+            .orElseThrow(() -> missingOrOwnedByAnotherUser(contactId, stamp));
+        contact.fetchCollections(fields);
+        return contact;
+    }
+
+    // the cached JSON is looked up by the stored version, so a hit never materializes the contact
+    @Override
+    public ContactJson findJsonByIdWithUser(UUID contactId, String userId) {
+        final long stamp = contactCache.stamp(userId);
+        final Optional<Long> version = contactRepository.findVersionByIdAndUserId(contactId, userId);
+        final Optional<byte[]> cachedJson = version.flatMap(storedVersion -> contactCache.getContactJson(contactId, userId, storedVersion));
+        if (cachedJson.isPresent())
+            return new ContactJson(version.get(), cachedJson.get());
+        final Contact contact = findByIdWithUser(contactId, userId);
+        final byte[] json = toJsonBytes(contact.toContactDta());
+        contactCache.putContactJson(contactId, userId, contact.getVersion(), json, stamp);
+        return new ContactJson(contact.getVersion(), json);
+    }
+
+    @Override
+    public List<Contact> findAllByIdsWithUser(Collection<UUID> contactIds, String userId) {
+        userService.findReferenceById(userId);
+        return fetchCollections(contactRepository.findAllByIdInAndUserId(contactIds, userId));
+    }
+
+    @Override
+    public Optional<Long> findVersionByIdWithUser(UUID contactId, String userId) {
+        return contactRepository.findVersionByIdAndUserId(contactId, userId);
+    }
+
+    @Override
+    public long findListVersionByUserId(String userId) {
+        return userService.findContactsVersionById(userId);
+    }
+
+    @Override
+    public byte[] findAllJsonByUserId(String userId, long version) {
+        final long stamp = contactCache.stamp(userId);
+        final Optional<byte[]> cachedJson = contactCache.getListJson(userId, version);
+        if (cachedJson.isPresent())
+            return cachedJson.get();
+        final byte[] json = toJsonBytes(Contact.toListOfContactData(findAllByUserId(userId)));
+        contactCache.putListJson(userId, version, json, stamp);
+        return json;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ContactChanges findChangesByUserId(String userId, long since) {
+        final long version = userService.findContactsVersionById(userId);
+        if (since == ContactChanges.NO_TOKEN)
+            return new ContactChanges(fetchCollections(contactRepository.findAllByUserId(userId)), List.of(), version);
+        if (since >= version)
+            return new ContactChanges(List.of(), List.of(), version);
+        final List<UUID> deletedIds = contactRepository.findDeletedIdsByUserIdSince(userId, since);
+        // read after the tombstones, so a purge that removed some of them is always noticed
+        if (since < contactRepository.findTombstonesHorizonByUserId(userId))
+            throw new ResponseStatusException(HttpStatus.GONE, "Sync token expired, sync again without it");
+        return new ContactChanges(
+            fetchCollections(contactRepository.findAllByUserIdChangedSince(userId, since)),
+            deletedIds,
+            version
+        );
+    }
+
     @Override
     public void saveWithUser(final Contact contact, final String userId) {
-        final User user = userService.findById(userId);
+        saveWithUser(contact, userId, null);
+    }
+
+    @Override
+    public void saveWithUser(final Contact contact, final String userId, final IdempotencyKey idempotencyKey) {
+        final User user = userService.findReferenceById(userId);
+        if (idempotencyKey != null && claim(userId, idempotencyKey).isPresent())
+            return;
         contact.setUser(user);
+        contact.setSyncVersion(userService.incrementContactsVersion(userId));
         save(contact);
+        invalidate(userId, List.of(contact.getId()));
+        if (idempotencyKey != null)
+            contactIdempotencyStore.complete(userId, idempotencyKey, List.of(contact.getId()));
+    }
+
+    @Override
+    public List<UUID> saveAllWithUser(final List<Contact> contacts, final String userId) {
+        return saveAllWithUser(contacts, userId, null);
+    }
+
+    @Override
+    public List<UUID> saveAllWithUser(final List<Contact> contacts, final String userId, final IdempotencyKey idempotencyKey) {
+        final User user = userService.findReferenceById(userId);
+        if (idempotencyKey != null) {
+            final Optional<List<UUID>> storedIds = claim(userId, idempotencyKey);
+            if (storedIds.isPresent())
+                return storedIds.get();
+        }
+        final long syncVersion = userService.incrementContactsVersion(userId);
+        final List<UUID> ids = new ArrayList<>(contacts.size());
+        for (final Contact contact : contacts) {
+            contact.setUser(user);
+            contact.setSyncVersion(syncVersion);
+            save(contact);
+            ids.add(contact.getId());
+        }
+        invalidate(userId, ids);
+        if (idempotencyKey != null)
+            contactIdempotencyStore.complete(userId, idempotencyKey, ids);
+        return ids;
+    }
+
+    // each batch commits on its own before its results are handed over, so a failed import keeps what was reported
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void importAll(
+        final ContactReader contactReader,
+        final String userId,
+        final Consumer<List<ContactBatchResult>> results
+    ) throws IOException {
+        // an unknown user fails with 404 before any result is handed over
+        userService.findReferenceById(userId);
+        final List<Contact> batch = new ArrayList<>(IMPORT_BATCH_SIZE);
+        final List<Integer> batchIndexes = new ArrayList<>(IMPORT_BATCH_SIZE);
+        final List<ContactBatchResult> batchResults = new ArrayList<>();
+        for (int index = 0; ; index++) {
+            final ContactData contactData;
+            try {
+                contactData = contactReader.read();
+            }
+            catch (InvalidContactRecordException exception) {
+                batchResults.add(ContactBatchResult.rejected(index, Map.of("record", List.of(exception.getMessage()))));
+                continue;
+            }
+            if (contactData == null) break;
+
+            final Errors errors = validator.validateObject(contactData);
+            if (errors.hasFieldErrors())
+                batchResults.add(ContactBatchResult.rejected(index, new ViolationResponse(errors.getFieldErrors()).getFieldViolations()));
+            else {
+                batch.add(Contact.toContact(contactData));
+                batchIndexes.add(index);
+            }
+            if (batch.size() == IMPORT_BATCH_SIZE || batchResults.size() == IMPORT_BATCH_SIZE)
+                importBatch(batch, batchIndexes, batchResults, userId, results);
+        }
+        importBatch(batch, batchIndexes, batchResults, userId, results);
     }
 
     @Override
     public void updateWithUser(Contact contact, String userId) {
-        Contact contactFromStorage = findByIdWithUser(contact.getId(), userId);
-        contact.setUser(contactFromStorage.getUser());
-        save(contact);
+        updateWithUser(contact, null, userId);
+    }
+
+    // PUT and PATCH both write through the managed contact, so only what changed is written and @Version guards the write
+    @Override
+    public void updateWithUser(Contact contact, Set<Long> expectedVersions, String userId) {
+        final Contact contactFromStorage = loadByIdWithUser(contact.getId(), userId);
+        checkVersion(contactFromStorage, expectedVersions);
+        updateFrom(contactFromStorage, contact, userId);
+    }
+
+    @Override
+    public void patchWithUser(UUID contactId, Set<Long> expectedVersions, String userId, ContactPatch patch) throws BindException {
+        final Contact contactFromStorage = loadByIdWithUser(contactId, userId);
+        checkVersion(contactFromStorage, expectedVersions);
+        updateFrom(contactFromStorage, Contact.toContact(patch.apply(contactFromStorage.toContactDta()), contactId), userId);
     }
 
     @Override
     public Contact findById(final UUID id) {
-        return contactRepository.findById(id)
-            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Contact not found"));
+        final long stamp = missingContactCache.stamp();
+        if (missingContactCache.contains(id))
+            throw contactNotFound();
+        final Contact contact = contactRepository.findById(id)
+            .orElseThrow(() -> missing(id, stamp));
+        contact.fetchCollections();
+        return contact;
     }
 
     @Override
     public void deleteByIdWithUser(UUID contactId, String userId) {
-        findByIdWithUser(contactId, userId);
-        contactRepository.deleteById(contactId);
+        deleteByIdWithUser(contactId, null, userId);
+    }
+
+    @Override
+    public void deleteByIdWithUser(UUID contactId, Set<Long> expectedVersions, String userId) {
+        final long stamp = missingContactCache.stamp();
+        final Optional<UUID> deletedId = expectedVersions == null
+            ? contactRepository.deleteByIdAndUserId(contactId, userId)
+            : contactRepository.deleteByIdAndUserIdAndVersionIn(contactId, userId, expectedVersions);
+        if (deletedId.isEmpty())
+            throw expectedVersions != null && contactRepository.findVersionByIdAndUserId(contactId, userId).isPresent()
+                ? modifiedByAnotherRequest()
+                : missingOrOwnedByAnotherUser(contactId, stamp);
+        invalidate(userId, List.of(contactId));
+    }
+
+    @Override
+    public List<UUID> deleteAllByIdsWithUser(Collection<UUID> contactIds, String userId) {
+        userService.findReferenceById(userId);
+        final List<UUID> deletedIds = contactRepository.deleteAllByIdInAndUserId(contactIds, userId);
+        invalidate(userId, deletedIds);
+        return deletedIds;
+    }
+
+    @Override
+    public int deleteAllByUserId(String userId) {
+        userService.findReferenceById(userId);
+        final List<UUID> deletedIds = contactRepository.deleteAllByUserId(userId);
+        invalidate(userId, deletedIds);
+        return deletedIds.size();
     }
 
     @Override
@@ -74,6 +422,113 @@ public class ContactManagerServiceImpl implements ContactManagerService {
 
     @Override
     public void deleteAll() {
+        userService.incrementAllContactsVersions();
+        contactRepository.saveTombstonesForAll();
         contactRepository.deleteAll();
+        contactCache.invalidateAll();
+        Tools.afterCompletion(contactCache::invalidateAll);
+        cacheInvalidationBus.publish(CacheInvalidation.allContacts());
+    }
+
+    private void importBatch(
+        final List<Contact> batch,
+        final List<Integer> batchIndexes,
+        final List<ContactBatchResult> batchResults,
+        final String userId,
+        final Consumer<List<ContactBatchResult>> results
+    ) {
+        if (!batch.isEmpty()) {
+            final List<UUID> ids = transactionTemplate.execute(status -> saveAllWithUser(batch, userId));
+            for (int index = 0; index < ids.size(); index++)
+                batchResults.add(ContactBatchResult.created(batchIndexes.get(index), ids.get(index)));
+        }
+        if (!batchResults.isEmpty())
+            results.accept(List.copyOf(batchResults));
+        batch.clear();
+        batchIndexes.clear();
+        batchResults.clear();
+    }
+
+    private Optional<List<UUID>> claim(final String userId, final IdempotencyKey idempotencyKey) {
+        try {
+            return contactIdempotencyStore.claim(userId, idempotencyKey);
+        }
+        catch (DataIntegrityViolationException exception) {
+            throw userService.forgetDeleted(userId);
+        }
+    }
+
+    private Contact loadByIdWithUser(final UUID contactId, final String userId) {
+        final long stamp = missingContactCache.stamp();
+        if (missingContactCache.contains(contactId))
+            throw contactNotFound();
+        return contactRepository.findByIdAndUserId(contactId, userId)
+            .orElseThrow(() -> missingOrOwnedByAnotherUser(contactId, stamp));
+    }
+
+    private void checkVersion(final Contact contactFromStorage, final Set<Long> expectedVersions) {
+        if (expectedVersions != null && !expectedVersions.contains(contactFromStorage.getVersion()))
+            throw modifiedByAnotherRequest();
+    }
+
+    private void updateFrom(final Contact contactFromStorage, final Contact contact, final String userId) {
+        if (contactFromStorage.updateFrom(contact)) {
+            contactFromStorage.setSyncVersion(userService.incrementContactsVersion(userId));
+            invalidate(userId, List.of(contactFromStorage.getId()));
+        }
+    }
+
+    private void invalidate(final String userId, final Collection<UUID> contactIds) {
+        contactCache.invalidate(userId, contactIds);
+        missingContactCache.removeAll(contactIds);
+        // again once the transaction ends, dropping anything cached from its uncommitted rows
+        Tools.afterCompletion(() -> {
+            contactCache.invalidate(userId, contactIds);
+            missingContactCache.removeAll(contactIds);
+        });
+        CacheInvalidation.contacts(userId, contactIds).forEach(cacheInvalidationBus::publish);
+    }
+
+    private String toJson(final Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        }
+        catch (JsonProcessingException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private byte[] toJsonBytes(final Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        }
+        catch (JsonProcessingException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    // the stamp has to be taken before the lookup that came back empty
+    private ResponseStatusException missingOrOwnedByAnotherUser(final UUID contactId, final long stamp) {
+        return contactRepository.existsById(contactId)
+            ? new ResponseStatusException(HttpStatus.BAD_REQUEST, "Contact belongs to another user")
+            : missing(contactId, stamp);
+    }
+
+    private ResponseStatusException missing(final UUID contactId, final long stamp) {
+        missingContactCache.add(contactId, stamp);
+        return contactNotFound();
+    }
+
+    private static ResponseStatusException contactNotFound() {
+        return new NotFoundException("Contact not found");
+    }
+
+    private static ResponseStatusException modifiedByAnotherRequest() {
+        return new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Contact was modified by another request");
+    }
+
+    private static List<Contact> fetchCollections(final List<Contact> contacts) {
+        contacts.forEach(Contact::fetchCollections);
+        return contacts;
     }
 }
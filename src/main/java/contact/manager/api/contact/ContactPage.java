@@ -0,0 +1,19 @@
+package contact.manager.api.contact;
+
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public final class ContactPage {
+
+    private final List<ContactData> contacts;
+    private final String next;
+
+    public ContactPage(final List<Contact> contacts, final int limit) {
+        final boolean hasNext = contacts.size() > limit;
+        final List<Contact> pageOfContacts = hasNext ? contacts.subList(0, limit) : contacts;
+        this.contacts = Contact.toListOfContactData(pageOfContacts);
+        this.next = hasNext ? ContactCursor.after(pageOfContacts.get(limit - 1)).encode() : null;
+    }
+}
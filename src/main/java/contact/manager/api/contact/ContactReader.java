@@ -0,0 +1,8 @@
+package contact.manager.api.contact;
+
+import java.io.IOException;
+
+public interface ContactReader {
+
+    ContactData read() throws IOException;
+}
@@ -0,0 +1,69 @@
+package contact.manager.api.contact;
+
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Setter
+final class ContactRecord {
+
+    private String name;
+    private LocalDate birthday;
+    private String company;
+    private String role;
+    private final Map<String, String> phoneNumbers = new LinkedHashMap<>();
+    private final Map<String, String> emails = new LinkedHashMap<>();
+    private final Map<String, Address> addresses = new LinkedHashMap<>();
+
+    static LocalDate parseDate(final String date) {
+        try {
+            return LocalDate.parse(date);
+        }
+        catch (DateTimeParseException exception) {
+            throw new InvalidContactRecordException("Invalid date format. Expected format is YYYY-MM-DD.");
+        }
+    }
+
+    boolean hasPhoneNumber(final String mark) {
+        return phoneNumbers.containsKey(mark);
+    }
+
+    boolean hasEmail(final String mark) {
+        return emails.containsKey(mark);
+    }
+
+    boolean hasAddress(final String mark) {
+        return addresses.containsKey(mark);
+    }
+
+    void putPhoneNumber(final String mark, final String phoneNumber) {
+        phoneNumbers.put(mark, phoneNumber);
+    }
+
+    void putEmail(final String mark, final String email) {
+        emails.put(mark, email);
+    }
+
+    void putAddress(final String mark, final Address address) {
+        addresses.put(mark, address);
+    }
+
+    Address address(final String mark) {
+        return addresses.computeIfAbsent(mark, ignored -> new Address());
+    }
+
+    ContactData toContactData() {
+        return ContactData.builder()
+            .name(name)
+            .birthday(birthday)
+            .company(company)
+            .role(role)
+            .phoneNumbers(phoneNumbers)
+            .emails(emails)
+            .addresses(addresses)
+            .build();
+    }
+}
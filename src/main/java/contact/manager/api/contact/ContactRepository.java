@@ -1,20 +1,197 @@
 package contact.manager.api.contact;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface ContactRepository extends org.springframework.data.repository.Repository<Contact, UUID>, ExtendedContactRepository {
 
+    // the row of the user is locked before their contacts, in the same order as every other write to them
+    String LOCK_USER = "with locked as (select user_id from users where user_id = :userId for no key update) ";
+
+    Optional<Contact> findById(UUID id);
+
+    @Query("select c from Contact c where c.id = :id and c.user.id = :userId")
+    Optional<Contact> findByIdAndUserId(@Param("id") UUID id, @Param("userId") String userId);
+
+    @Query("select c.version from Contact c where c.id = :id and c.user.id = :userId")
+    Optional<Long> findVersionByIdAndUserId(@Param("id") UUID id, @Param("userId") String userId);
+
+    @Query("select c from Contact c where c.user.id = :userId and c.id in :ids")
+    List<Contact> findAllByIdInAndUserId(@Param("ids") Collection<UUID> ids, @Param("userId") String userId);
+
+    @Query("select c from Contact c where c.user.id = :userId and c.syncVersion > :since order by c.name asc")
+    List<Contact> findAllByUserIdChangedSince(@Param("userId") String userId, @Param("since") long since);
+
+    @Query(value = "select contact_id from contact_tombstones where user_id = :userId and version > :since", nativeQuery = true)
+    List<UUID> findDeletedIdsByUserIdSince(@Param("userId") String userId, @Param("since") long since);
+
+    @Query(value = "select coalesce((select tombstones_horizon from users where user_id = :userId), 0)", nativeQuery = true)
+    long findTombstonesHorizonByUserId(@Param("userId") String userId);
+
+    @Query(
+        value = "select distinct x.mark from phone_numbers x join contacts c on c.contact_id = x.contact_id " +
+            "where c.user_id = :userId order by 1",
+        nativeQuery = true
+    )
+    List<String> findPhoneNumberMarksByUserId(@Param("userId") String userId);
+
     @Query(
-        "select c from Contact c left join fetch c.phoneNumberMap p left join fetch " +
-        "c.emailMap e left join fetch addressMap a left join fetch c.user u where c.id = :id"
+        value = "select distinct x.mark from emails x join contacts c on c.contact_id = x.contact_id " +
+            "where c.user_id = :userId order by 1",
+        nativeQuery = true
     )
-    Optional<Contact> findById(@Param("id") UUID id);
+    List<String> findEmailMarksByUserId(@Param("userId") String userId);
+
+    @Query(
+        value = "select distinct x.mark from addresses x join contacts c on c.contact_id = x.contact_id " +
+            "where c.user_id = :userId order by 1",
+        nativeQuery = true
+    )
+    List<String> findAddressMarksByUserId(@Param("userId") String userId);
+
+    boolean existsById(UUID id);
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select c from Contact c where c.user.id = :userId order by c.name asc, c.id asc")
+    Stream<Contact> streamAllByUserId(@Param("userId") String userId);
 
     void deleteById(UUID uuid);
-}
\ No newline at end of file
+
+    // the tombstone and the new version of the user's list are written by the same statement, for the delta sync
+    @Query(
+        value = LOCK_USER + ", deleted as (" +
+            "delete from contacts where contact_id = :id and user_id = :userId " +
+            "and exists (select 1 from locked) returning contact_id" +
+        "), version as (" +
+            "update users set contacts_version = contacts_version + 1 " +
+            "where user_id = :userId and exists (select 1 from deleted) returning contacts_version" +
+        ") insert into contact_tombstones (contact_id, user_id, version) " +
+            "select d.contact_id, :userId, v.contacts_version from deleted d cross join version v " +
+            "on conflict (contact_id) do update set version = excluded.version, deleted_at = excluded.deleted_at returning contact_id",
+        nativeQuery = true
+    )
+    Optional<UUID> deleteByIdAndUserId(@Param("id") UUID id, @Param("userId") String userId);
+
+    @Query(
+        value = LOCK_USER + ", deleted as (" +
+            "delete from contacts where contact_id = :id and user_id = :userId and version in (:versions) " +
+            "and exists (select 1 from locked) returning contact_id" +
+        "), version as (" +
+            "update users set contacts_version = contacts_version + 1 " +
+            "where user_id = :userId and exists (select 1 from deleted) returning contacts_version" +
+        ") insert into contact_tombstones (contact_id, user_id, version) " +
+            "select d.contact_id, :userId, v.contacts_version from deleted d cross join version v " +
+            "on conflict (contact_id) do update set version = excluded.version, deleted_at = excluded.deleted_at returning contact_id",
+        nativeQuery = true
+    )
+    Optional<UUID> deleteByIdAndUserIdAndVersionIn(
+        @Param("id") UUID id,
+        @Param("userId") String userId,
+        @Param("versions") Collection<Long> versions
+    );
+
+    @Query(
+        value = LOCK_USER + ", deleted as (" +
+            "delete from contacts where user_id = :userId and contact_id in (:ids) " +
+            "and exists (select 1 from locked) returning contact_id" +
+        "), version as (" +
+            "update users set contacts_version = contacts_version + 1 " +
+            "where user_id = :userId and exists (select 1 from deleted) returning contacts_version" +
+        ") insert into contact_tombstones (contact_id, user_id, version) " +
+            "select d.contact_id, :userId, v.contacts_version from deleted d cross join version v " +
+            "on conflict (contact_id) do update set version = excluded.version, deleted_at = excluded.deleted_at returning contact_id",
+        nativeQuery = true
+    )
+    List<UUID> deleteAllByIdInAndUserId(@Param("ids") Collection<UUID> ids, @Param("userId") String userId);
+
+    @Query(
+        value = LOCK_USER + ", deleted as (" +
+            "delete from contacts where user_id = :userId and exists (select 1 from locked) returning contact_id" +
+        "), version as (" +
+            "update users set contacts_version = contacts_version + 1 " +
+            "where user_id = :userId and exists (select 1 from deleted) returning contacts_version" +
+        ") insert into contact_tombstones (contact_id, user_id, version) " +
+            "select d.contact_id, :userId, v.contacts_version from deleted d cross join version v " +
+            "on conflict (contact_id) do update set version = excluded.version, deleted_at = excluded.deleted_at returning contact_id",
+        nativeQuery = true
+    )
+    List<UUID> deleteAllByUserId(@Param("userId") String userId);
+
+    @Modifying(flushAutomatically = true)
+    @Query(
+        value = "insert into contact_tombstones (contact_id, user_id, version) " +
+            "select c.contact_id, c.user_id, u.contacts_version from contacts c join users u on u.user_id = c.user_id " +
+            "on conflict (contact_id) do update set version = excluded.version, deleted_at = excluded.deleted_at",
+        nativeQuery = true
+    )
+    void saveTombstonesForAll();
+
+    // raises the horizon of each user before dropping their tombstones below it, so a sync token older than it can be told apart
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "contact_tombstones"))
+    @Modifying
+    @Query(
+        value = "with expired as (" +
+            "select user_id, max(version) as version from contact_tombstones " +
+            "where deleted_at < now() - make_interval(secs => :retentionSeconds) group by user_id" +
+        "), horizon as (" +
+            "update users u set tombstones_horizon = greatest(u.tombstones_horizon, e.version) " +
+            "from expired e where u.user_id = e.user_id returning u.user_id, u.tombstones_horizon" +
+        ") delete from contact_tombstones t using horizon h " +
+            "where t.user_id = h.user_id and t.version <= h.tombstones_horizon",
+        nativeQuery = true
+    )
+    int deleteExpiredTombstones(@Param("retentionSeconds") long retentionSeconds);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "idempotency_keys"))
+    @Modifying
+    @Query(
+        value = "insert into idempotency_keys (user_id, idempotency_key, fingerprint) values (:userId, :key, :fingerprint) " +
+            "on conflict (user_id, idempotency_key) do update " +
+            "set fingerprint = excluded.fingerprint, contact_ids = null, created_at = excluded.created_at " +
+            "where idempotency_keys.created_at < now() - make_interval(secs => :timeToLiveSeconds)",
+        nativeQuery = true
+    )
+    int claimIdempotencyKey(
+        @Param("userId") String userId,
+        @Param("key") String key,
+        @Param("fingerprint") String fingerprint,
+        @Param("timeToLiveSeconds") long timeToLiveSeconds
+    );
+
+    @Query(
+        value = "select fingerprint, contact_ids as \"contactIds\" from idempotency_keys where user_id = :userId and idempotency_key = :key",
+        nativeQuery = true
+    )
+    Optional<ContactIdempotencyStore.IdempotencyRecord> findIdempotencyRecord(@Param("userId") String userId, @Param("key") String key);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "idempotency_keys"))
+    @Modifying
+    @Query(
+        value = "update idempotency_keys set contact_ids = :contactIds where user_id = :userId and idempotency_key = :key",
+        nativeQuery = true
+    )
+    void completeIdempotencyKey(@Param("userId") String userId, @Param("key") String key, @Param("contactIds") String contactIds);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "idempotency_keys"))
+    @Modifying
+    @Query(
+        value = "delete from idempotency_keys where created_at < now() - make_interval(secs => :timeToLiveSeconds)",
+        nativeQuery = true
+    )
+    int deleteExpiredIdempotencyKeys(@Param("timeToLiveSeconds") long timeToLiveSeconds);
+}
@@ -0,0 +1,14 @@
+package contact.manager.api.contact;
+
+import java.util.UUID;
+
+public interface ContactSummary {
+
+    UUID getId();
+
+    String getName();
+
+    String getCompany();
+
+    String getPhoneNumber();
+}
@@ -0,0 +1,34 @@
+package contact.manager.api.contact;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+
+@Component
+public class ContactTombstoneStore {
+
+    private final ContactRepository contactRepository;
+    private final long retentionSeconds;
+
+    @Autowired
+    public ContactTombstoneStore(
+        final ContactRepository contactRepository,
+        @Value("${contact-manager.tombstones.retention:P30D}") final Duration retention
+    ) {
+        this.contactRepository = contactRepository;
+        this.retentionSeconds = retention.toSeconds();
+    }
+
+    @Transactional
+    @Scheduled(
+        initialDelayString = "${contact-manager.tombstones.purge-interval:PT1H}",
+        fixedDelayString = "${contact-manager.tombstones.purge-interval:PT1H}"
+    )
+    public void purgeExpired() {
+        contactRepository.deleteExpiredTombstones(retentionSeconds);
+    }
+}
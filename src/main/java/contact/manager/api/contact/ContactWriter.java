@@ -0,0 +1,8 @@
+package contact.manager.api.contact;
+
+import java.io.IOException;
+
+public interface ContactWriter {
+
+    void write(Contact contact) throws IOException;
+}
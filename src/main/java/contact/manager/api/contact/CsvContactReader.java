@@ -0,0 +1,161 @@
+package contact.manager.api.contact;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+public final class CsvContactReader implements ContactReader {
+
+    static final int MAX_RECORD_LENGTH = 64 * 1024;
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    private static final Map<String, BiConsumer<Address, String>> ADDRESS_PARTS = Map.of(
+        "street", Address::setStreet,
+        "city", Address::setCity,
+        "state", Address::setState,
+        "country", Address::setCountry,
+        "zipcode", Address::setZipcode
+    );
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private boolean skipLineFeed;
+
+    private List<BiConsumer<ContactRecord, String>> columns;
+
+    private CsvContactReader(final Reader reader) {
+        this.reader = reader;
+    }
+
+    public static CsvContactReader open(final Reader reader) throws IOException {
+        final CsvContactReader csvContactReader = new CsvContactReader(reader);
+        final List<String> header;
+        try {
+            header = csvContactReader.readRecord();
+        }
+        catch (InvalidContactRecordException exception) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid CSV header: " + exception.getMessage());
+        }
+        if (header == null)
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "CSV header is missing");
+        csvContactReader.columns = header.stream().map(CsvContactReader::column).toList();
+        return csvContactReader;
+    }
+
+    @Override
+    public ContactData read() throws IOException {
+        List<String> fields = readRecord();
+        while (fields != null && fields.size() == 1 && fields.get(0).isEmpty())
+            fields = readRecord();
+        if (fields == null) return null;
+        if (fields.size() != columns.size())
+            throw new InvalidContactRecordException("record has " + fields.size() + " fields but the header has " + columns.size());
+
+        final ContactRecord contactRecord = new ContactRecord();
+        for (int index = 0; index < fields.size(); index++) {
+            if (!fields.get(index).isEmpty())
+                columns.get(index).accept(contactRecord, fields.get(index));
+        }
+        return contactRecord.toContactData();
+    }
+
+    private static BiConsumer<ContactRecord, String> column(final String name) {
+        final String path = name.replace("\uFEFF", "").strip();
+        final int firstDot = path.indexOf('.');
+        if (firstDot < 0) {
+            switch (path) {
+                case "name": return ContactRecord::setName;
+                case "birthday": return (contactRecord, value) -> contactRecord.setBirthday(ContactRecord.parseDate(value));
+                case "company": return ContactRecord::setCompany;
+                case "role": return ContactRecord::setRole;
+            }
+        }
+        else if (firstDot < path.length() - 1) {
+            final String field = path.substring(0, firstDot);
+            final String mark = path.substring(firstDot + 1);
+            final int lastDot = mark.lastIndexOf('.');
+            switch (field) {
+                case "phoneNumbers": return (contactRecord, value) -> contactRecord.putPhoneNumber(mark, value);
+                case "emails": return (contactRecord, value) -> contactRecord.putEmail(mark, value);
+                case "addresses":
+                    if (lastDot > 0 && ADDRESS_PARTS.containsKey(mark.substring(lastDot + 1))) {
+                        final String addressMark = mark.substring(0, lastDot);
+                        final BiConsumer<Address, String> addressPart = ADDRESS_PARTS.get(mark.substring(lastDot + 1));
+                        return (contactRecord, value) -> addressPart.accept(contactRecord.address(addressMark), value);
+                    }
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown CSV column: " + name);
+    }
+
+    private List<String> readRecord() throws IOException {
+        int character = next();
+        if (character == -1) return null;
+
+        final List<String> fields = new ArrayList<>();
+        final StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int length = 0;
+        while (true) {
+            if (quoted) {
+                if (character == -1)
+                    throw new InvalidContactRecordException("quoted field is not terminated");
+                if (character == '"') {
+                    character = next();
+                    if (character != '"') {
+                        quoted = false;
+                        continue;
+                    }
+                }
+            }
+            else if (character == '"' && field.isEmpty()) {
+                quoted = true;
+                character = next();
+                continue;
+            }
+            else if (character == ',') {
+                if (++length <= MAX_RECORD_LENGTH)
+                    fields.add(field.toString());
+                field.setLength(0);
+                character = next();
+                continue;
+            }
+            else if (character == '\n' || character == '\r' || character == -1) {
+                skipLineFeed = character == '\r';
+                fields.add(field.toString());
+                if (length > MAX_RECORD_LENGTH)
+                    throw new InvalidContactRecordException("record is longer than " + MAX_RECORD_LENGTH + " characters");
+                return fields;
+            }
+            if (++length <= MAX_RECORD_LENGTH)
+                field.append((char) character);
+            character = next();
+        }
+    }
+
+    private int next() throws IOException {
+        if (position == limit) {
+            limit = reader.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        final char character = buffer[position++];
+        if (skipLineFeed) {
+            skipLineFeed = false;
+            if (character == '\n') return next();
+        }
+        return character;
+    }
+}
@@ -0,0 +1,79 @@
+package contact.manager.api.contact;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+// writes the same layout as the COPY of ContactCsvCopyQuery, one column per mark
+public final class CsvContactWriter implements ContactWriter {
+
+    static final List<String> ADDRESS_PARTS = List.of("street", "city", "state", "country", "zipcode");
+
+    private static final List<Function<Address, String>> ADDRESS_GETTERS = List.of(
+        Address::getStreet,
+        Address::getCity,
+        Address::getState,
+        Address::getCountry,
+        Address::getZipcode
+    );
+
+    private final Writer writer;
+    private final List<String> phoneNumberMarks;
+    private final List<String> emailMarks;
+    private final List<String> addressMarks;
+
+    public CsvContactWriter(
+        final Writer writer,
+        final List<String> phoneNumberMarks,
+        final List<String> emailMarks,
+        final List<String> addressMarks
+    ) {
+        this.writer = writer;
+        this.phoneNumberMarks = phoneNumberMarks;
+        this.emailMarks = emailMarks;
+        this.addressMarks = addressMarks;
+    }
+
+    public void writeHeader() throws IOException {
+        final List<String> header = new ArrayList<>(List.of("name", "birthday", "company", "role"));
+        phoneNumberMarks.forEach(mark -> header.add("phoneNumbers." + mark));
+        emailMarks.forEach(mark -> header.add("emails." + mark));
+        addressMarks.forEach(mark -> ADDRESS_PARTS.forEach(part -> header.add("addresses." + mark + "." + part)));
+        writeRecord(header);
+    }
+
+    @Override
+    public void write(final Contact contact) throws IOException {
+        final List<String> fields = new ArrayList<>();
+        fields.add(contact.getName());
+        fields.add(contact.getBirthday() == null ? null : contact.getBirthday().toString());
+        fields.add(contact.getCompany());
+        fields.add(contact.getRole());
+        phoneNumberMarks.forEach(mark -> fields.add(contact.getPhoneNumberMap().get(mark)));
+        emailMarks.forEach(mark -> fields.add(contact.getEmailMap().get(mark)));
+        for (final String mark : addressMarks) {
+            final Address address = contact.getAddressMap().get(mark);
+            ADDRESS_GETTERS.forEach(getter -> fields.add(address == null ? null : getter.apply(address)));
+        }
+        writeRecord(fields);
+    }
+
+    private void writeRecord(final List<String> fields) throws IOException {
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) writer.write(',');
+            writer.write(field(fields.get(i)));
+        }
+        writer.write("\n");
+    }
+
+    // quotes like COPY does, so an empty value stays apart from a missing one
+    private static String field(final String value) {
+        if (value == null) return "";
+        if (!value.isEmpty() && !value.equals("\\.") && Stream.of(",", "\"", "\r", "\n").noneMatch(value::contains))
+            return value;
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
@@ -1,25 +1,46 @@
 package contact.manager.api.contact;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.UUID;
 
 public interface ExtendedContactRepository {
 
     void save(Contact contact);
 
+    @Query("select c from Contact c join fetch c.user order by c.name asc")
+    List<Contact> findAll();
+
+    @Query("select c from Contact c where c.user.id = :userId order by c.name asc")
+    List<Contact> findAllByUserId(@Param("userId") String userId);
+
     @Query(
-        "select c from Contact c join fetch c.phoneNumberMap join fetch c.emailMap " +
-        "join fetch c.addressMap join fetch c.user order by c.name asc"
+        "select c from Contact c where c.user.id = :userId and c.name >= :name " +
+        "and (c.name > :name or c.id > :id) order by c.name asc, c.id asc limit :limit"
     )
-    List<Contact> findAll();
+    List<Contact> findPageByUserId(
+        @Param("userId") String userId,
+        @Param("name") String name,
+        @Param("id") UUID id,
+        @Param("limit") int limit
+    );
 
     @Query(
-        "select c from Contact c left join fetch c.phoneNumberMap left join fetch c.emailMap " +
-        "left join fetch c.addressMap where c.user.id = :userId order by c.name asc"
+        value = "select c.contact_id as id, c.name as name, c.company as company, (" +
+            "select p.phone_number from phone_numbers p where p.contact_id = c.contact_id order by p.mark limit 1" +
+        ") as phoneNumber from contacts c where c.user_id = :userId order by c.name asc",
+        nativeQuery = true
     )
-    List<Contact> findAllByUserId(@Param("userId") String userId);
+    List<ContactSummary> findAllSummariesByUserId(@Param("userId") String userId);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "contacts"))
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "delete from contacts", nativeQuery = true)
     void deleteAll();
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package contact.manager.api.contact;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class IdempotencyKey {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    private static final int MAX_LENGTH = 255;
+
+    private final String key;
+    private final String fingerprint;
+
+    public static IdempotencyKey of(final String key, final byte[] requestBody) {
+        if (key.isBlank() || key.length() > MAX_LENGTH)
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, HEADER + " must have between 1 and " + MAX_LENGTH + " characters");
+        try {
+            return new IdempotencyKey(key, HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(requestBody)));
+        }
+        catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+}
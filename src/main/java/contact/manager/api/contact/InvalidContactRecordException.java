@@ -0,0 +1,10 @@
+package contact.manager.api.contact;
+
+public class InvalidContactRecordException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public InvalidContactRecordException(final String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,26 @@
+package contact.manager.api.contact;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import contact.manager.api.misc.ExpiringKeyCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+
+@Component
+public class MissingContactCache extends ExpiringKeyCache<UUID> {
+
+    @Autowired
+    public MissingContactCache(
+        @Value("${contact-manager.missing-contact-cache.maximum-size:10000}") final int maximumSize,
+        @Value("${contact-manager.missing-contact-cache.time-to-live:PT30S}") final Duration timeToLive
+    ) {
+        this(maximumSize, timeToLive, Ticker.systemTicker());
+    }
+
+    MissingContactCache(final int maximumSize, final Duration timeToLive, final Ticker ticker) {
+        super("missing-contacts", maximumSize, timeToLive, ticker);
+    }
+}
@@ -0,0 +1,287 @@
+package contact.manager.api.contact;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Predicate;
+
+public final class VCardContactReader implements ContactReader {
+
+    static final int MAX_LINE_LENGTH = 16 * 1024;
+
+    static final int MAX_ENTRIES = 100;
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    private static final Set<String> IGNORED_TYPES = Set.of("pref", "voice", "internet", "x400");
+
+    private static final Set<String> SUPPORTED_PROPERTIES = Set.of("FN", "N", "BDAY", "ORG", "TITLE", "ROLE", "TEL", "EMAIL", "ADR");
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private int peeked = -2;
+
+    private String pushedBackLine;
+    private boolean truncated;
+
+    public VCardContactReader(final Reader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public ContactData read() throws IOException {
+        String line = nextLine();
+        while (line != null && line.isBlank())
+            line = nextLine();
+        if (line == null) return null;
+        if (!line.equalsIgnoreCase("BEGIN:VCARD")) {
+            while (line != null && !line.equalsIgnoreCase("BEGIN:VCARD"))
+                line = nextLine();
+            pushedBackLine = line;
+            throw new InvalidContactRecordException("expected BEGIN:VCARD");
+        }
+
+        final VCard vCard = new VCard();
+        String error = null;
+        for (line = nextLine(); line == null || !line.equalsIgnoreCase("END:VCARD"); line = nextLine()) {
+            if (line == null)
+                throw new InvalidContactRecordException("vCard is missing END:VCARD");
+            if (error != null || line.isBlank()) continue;
+            try {
+                vCard.apply(line, truncated);
+            }
+            catch (InvalidContactRecordException exception) {
+                error = exception.getMessage();
+            }
+        }
+        if (error != null)
+            throw new InvalidContactRecordException(error);
+        return vCard.toContactData();
+    }
+
+    private String nextLine() throws IOException {
+        if (pushedBackLine != null) {
+            final String line = pushedBackLine;
+            pushedBackLine = null;
+            return line;
+        }
+        final StringBuilder line = new StringBuilder();
+        truncated = false;
+        int character = readCharacter();
+        if (character == -1) return null;
+        while (true) {
+            if (character == '\r' || character == '\n') {
+                if (character == '\r' && peek() == '\n') readCharacter();
+                final int next = peek();
+                if (next != ' ' && next != '\t') return line.toString();
+                readCharacter();
+            }
+            else if (character == -1) {
+                return line.toString();
+            }
+            else if (line.length() < MAX_LINE_LENGTH) {
+                line.append((char) character);
+            }
+            else {
+                truncated = true;
+            }
+            character = readCharacter();
+        }
+    }
+
+    private int peek() throws IOException {
+        if (peeked == -2) peeked = readBuffered();
+        return peeked;
+    }
+
+    private int readCharacter() throws IOException {
+        if (peeked == -2) return readBuffered();
+        final int character = peeked;
+        peeked = -2;
+        return character;
+    }
+
+    private int readBuffered() throws IOException {
+        if (position == limit) {
+            limit = reader.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[position++];
+    }
+
+    private static final class VCard {
+
+        private final ContactRecord contactRecord = new ContactRecord();
+        private String fullName;
+        private String structuredName;
+        private String title;
+        private String role;
+        private int entries;
+
+        void apply(final String line, final boolean truncated) {
+            final int colon = indexOfUnquoted(line, ':');
+            if (colon < 0)
+                throw new InvalidContactRecordException("property has no value: " + abbreviate(line));
+            final List<String> nameAndParameters = splitUnquoted(line.substring(0, colon), ';');
+            final String group = nameAndParameters.get(0);
+            final String name = group.substring(group.indexOf('.') + 1).toUpperCase(Locale.ROOT);
+            final String value = line.substring(colon + 1);
+            if (!SUPPORTED_PROPERTIES.contains(name) || value.isBlank())
+                return;
+            if (truncated)
+                throw new InvalidContactRecordException(name + " is longer than " + MAX_LINE_LENGTH + " characters");
+
+            switch (name) {
+                case "FN" -> fullName = unescape(value);
+                case "N" -> structuredName = value;
+                case "BDAY" -> {
+                    if (!value.startsWith("--"))
+                        contactRecord.setBirthday(ContactRecord.parseDate(isoDate(value.strip())));
+                }
+                case "ORG" -> contactRecord.setCompany(unescape(splitUnescaped(value).get(0)));
+                case "TITLE" -> title = unescape(value);
+                case "ROLE" -> role = unescape(value);
+                case "TEL" -> {
+                    countEntry();
+                    final String phoneNumber = unescape(splitUnescaped(value).get(0)).replaceFirst("(?i)^tel:", "");
+                    contactRecord.putPhoneNumber(
+                        mark(nameAndParameters, contactRecord::hasPhoneNumber),
+                        phoneNumber.replaceAll("[\\s\\-().]", "")
+                    );
+                }
+                case "EMAIL" -> {
+                    countEntry();
+                    contactRecord.putEmail(mark(nameAndParameters, contactRecord::hasEmail), unescape(value).strip());
+                }
+                case "ADR" -> {
+                    countEntry();
+                    final List<String> components = splitUnescaped(value);
+                    contactRecord.putAddress(mark(nameAndParameters, contactRecord::hasAddress), Address.builder()
+                        .street(component(components, 2))
+                        .city(component(components, 3))
+                        .state(component(components, 4))
+                        .zipcode(component(components, 5))
+                        .country(component(components, 6))
+                        .build()
+                    );
+                }
+            }
+        }
+
+        ContactData toContactData() {
+            if (fullName != null && !fullName.isBlank()) {
+                contactRecord.setName(fullName.strip());
+            }
+            else if (structuredName != null) {
+                final List<String> components = splitUnescaped(structuredName);
+                final String given = component(components, 1);
+                final String family = component(components, 0);
+                contactRecord.setName(given == null ? family : family == null ? given : given + " " + family);
+            }
+            contactRecord.setRole(title != null ? title : role);
+            return contactRecord.toContactData();
+        }
+
+        private void countEntry() {
+            if (++entries > MAX_ENTRIES)
+                throw new InvalidContactRecordException("vCard has more than " + MAX_ENTRIES + " phone numbers, emails and addresses");
+        }
+
+        private static String mark(final List<String> nameAndParameters, final Predicate<String> taken) {
+            String type = "main";
+            for (final String parameter : nameAndParameters.subList(1, nameAndParameters.size())) {
+                final int equals = parameter.indexOf('=');
+                if (equals >= 0 && !parameter.substring(0, equals).equalsIgnoreCase("TYPE")) continue;
+                final String firstType = Arrays.stream(parameter.substring(equals + 1).replace("\"", "").split(","))
+                    .map(candidate -> candidate.strip().toLowerCase(Locale.ROOT))
+                    .filter(candidate -> !candidate.isEmpty() && !IGNORED_TYPES.contains(candidate))
+                    .findFirst()
+                    .orElse(null);
+                if (firstType != null) {
+                    type = firstType;
+                    break;
+                }
+            }
+            String mark = type;
+            for (int suffix = 2; taken.test(mark); suffix++)
+                mark = type + suffix;
+            return mark;
+        }
+
+        private static String isoDate(final String date) {
+            if (date.matches("\\d{8}"))
+                return date.substring(0, 4) + "-" + date.substring(4, 6) + "-" + date.substring(6);
+            return date.length() > 10 && date.charAt(10) == 'T' ? date.substring(0, 10) : date;
+        }
+
+        private static String component(final List<String> components, final int index) {
+            if (index >= components.size()) return null;
+            final String component = unescape(components.get(index)).strip();
+            return component.isEmpty() ? null : component;
+        }
+
+        private static String abbreviate(final String line) {
+            return line.length() > 40 ? line.substring(0, 40) + "..." : line;
+        }
+
+        private static int indexOfUnquoted(final String text, final char separator) {
+            boolean quoted = false;
+            for (int index = 0; index < text.length(); index++) {
+                final char character = text.charAt(index);
+                if (character == '"') quoted = !quoted;
+                else if (character == separator && !quoted) return index;
+            }
+            return -1;
+        }
+
+        private static List<String> splitUnquoted(final String text, final char separator) {
+            final List<String> parts = new ArrayList<>();
+            String rest = text;
+            for (int index = indexOfUnquoted(rest, separator); index >= 0; index = indexOfUnquoted(rest, separator)) {
+                parts.add(rest.substring(0, index));
+                rest = rest.substring(index + 1);
+            }
+            parts.add(rest);
+            return parts;
+        }
+
+        private static List<String> splitUnescaped(final String value) {
+            final List<String> components = new ArrayList<>();
+            int start = 0;
+            for (int index = 0; index < value.length(); index++) {
+                if (value.charAt(index) == '\\') index++;
+                else if (value.charAt(index) == ';') {
+                    components.add(value.substring(start, index));
+                    start = index + 1;
+                }
+            }
+            components.add(value.substring(start));
+            return components;
+        }
+
+        private static String unescape(final String value) {
+            final StringBuilder unescaped = new StringBuilder(value.length());
+            for (int index = 0; index < value.length(); index++) {
+                final char character = value.charAt(index);
+                if (character == '\\' && index + 1 < value.length()) {
+                    final char escaped = value.charAt(++index);
+                    unescaped.append(escaped == 'n' || escaped == 'N' ? '\n' : escaped);
+                }
+                else {
+                    unescaped.append(character);
+                }
+            }
+            return unescaped.toString();
+        }
+    }
+}
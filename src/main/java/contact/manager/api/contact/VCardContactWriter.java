@@ -0,0 +1,69 @@
+package contact.manager.api.contact;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+public final class VCardContactWriter implements ContactWriter {
+
+    private static final int MAX_LINE_LENGTH = 75;
+
+    private final Writer writer;
+
+    public VCardContactWriter(final Writer writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public void write(final Contact contact) throws IOException {
+        writeLine("BEGIN:VCARD");
+        writeLine("VERSION:4.0");
+        writeLine("FN:" + escape(contact.getName()));
+        if (contact.getBirthday() != null)
+            writeLine("BDAY:" + contact.getBirthday().format(DateTimeFormatter.BASIC_ISO_DATE));
+        if (contact.getCompany() != null)
+            writeLine("ORG:" + escape(contact.getCompany()));
+        if (contact.getRole() != null)
+            writeLine("TITLE:" + escape(contact.getRole()));
+        for (final Map.Entry<String, String> phoneNumber : contact.getPhoneNumberMap().entrySet())
+            writeLine("TEL;VALUE=uri;TYPE=" + type(phoneNumber.getKey()) + ":tel:" + phoneNumber.getValue());
+        for (final Map.Entry<String, String> email : contact.getEmailMap().entrySet())
+            writeLine("EMAIL;TYPE=" + type(email.getKey()) + ":" + escape(email.getValue()));
+        for (final Map.Entry<String, Address> address : contact.getAddressMap().entrySet()) {
+            writeLine("ADR;TYPE=" + type(address.getKey()) + ":;;" + String.join(";",
+                escape(address.getValue().getStreet()),
+                escape(address.getValue().getCity()),
+                escape(address.getValue().getState()),
+                escape(address.getValue().getZipcode()),
+                escape(address.getValue().getCountry())
+            ));
+        }
+        writeLine("END:VCARD");
+    }
+
+    private void writeLine(final String line) throws IOException {
+        int start = 0;
+        while (line.length() - start > MAX_LINE_LENGTH) {
+            writer.write(line, start, MAX_LINE_LENGTH);
+            writer.write("\r\n ");
+            start += MAX_LINE_LENGTH;
+        }
+        writer.write(line, start, line.length() - start);
+        writer.write("\r\n");
+    }
+
+    private static String type(final String mark) {
+        return "\"" + mark.replace("\"", "'") + "\"";
+    }
+
+    private static String escape(final String value) {
+        if (value == null) return "";
+        return value
+            .replace("\\", "\\\\")
+            .replace(",", "\\,")
+            .replace(";", "\\;")
+            .replace("\r\n", "\\n")
+            .replace("\n", "\\n");
+    }
+}
@@ -1,9 +1,12 @@
 package contact.manager.api.global;
 
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
-import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.validation.BindException;
+import org.springframework.web.bind.UnsatisfiedServletRequestParameterException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.server.ResponseStatusException;
@@ -22,12 +25,25 @@ public class GlobalErrorController {
             .body(Objects.requireNonNullElseGet(rse.getReason(), () -> "No reasons"));
     }
 
-    @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<ViolationResponse> resolveResponseStatusException(final MethodArgumentNotValidException manve) {
-        final ViolationResponse violationResponse = new ViolationResponse(manve.getFieldErrors());
+    @ExceptionHandler(BindException.class)
+    public ResponseEntity<ViolationResponse> resolveResponseStatusException(final BindException bindException) {
+        final ViolationResponse violationResponse = new ViolationResponse(bindException.getFieldErrors());
         return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(violationResponse);
     }
 
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<String> resolveOptimisticLockingFailureException(final OptimisticLockingFailureException exception) {
+        return ResponseEntity
+            .status(HttpStatus.PRECONDITION_FAILED)
+            .contentType(MediaType.TEXT_PLAIN)
+            .body("Contact was modified by another request");
+    }
+
+    @ExceptionHandler(UnsatisfiedServletRequestParameterException.class)
+    public ResponseEntity<String> resolveUnsatisfiedServletRequestParameterException(final UnsatisfiedServletRequestParameterException exception) {
+        return ResponseEntity.badRequest().contentType(MediaType.TEXT_PLAIN).body("Unsupported combination of query parameters");
+    }
+
     @ExceptionHandler(HttpMessageNotReadableException.class)
     public ResponseEntity<String> resolveHttpMessageNotReadableException(HttpMessageNotReadableException exception) {
         if (exception.getRootCause() instanceof DateTimeParseException)
@@ -0,0 +1,19 @@
+package contact.manager.api.global;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+public class NotFoundException extends ResponseStatusException {
+
+    private static final long serialVersionUID = 1L;
+
+    public NotFoundException(final String reason) {
+        super(HttpStatus.NOT_FOUND, reason);
+    }
+
+    // thrown for every unknown id a client asks for, where capturing a stack trace is pure overhead
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
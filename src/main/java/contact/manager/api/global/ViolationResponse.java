@@ -12,7 +12,7 @@ public final class ViolationResponse {
 
     private final Map<String, List<String>> fieldViolations;
 
-    ViolationResponse(final List<FieldError> fieldErrors) {
+    public ViolationResponse(final List<FieldError> fieldErrors) {
         this.fieldViolations = fieldErrors.stream()
             .collect(
                 Collectors.groupingBy(FieldError::getField,
@@ -0,0 +1,69 @@
+package contact.manager.api.invalidation;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class CacheInvalidation {
+
+    // keeps a payload well below the 8000 bytes pg_notify accepts
+    static final int MAX_CONTACT_IDS = 150;
+
+    public enum Type {
+        CONTACTS,
+        USER_CREATED,
+        ALL_CONTACTS
+    }
+
+    private final Type type;
+
+    private final String userId;
+
+    private final List<UUID> contactIds;
+
+    // many ids are split over several notifications, so the other nodes still only evict those contacts
+    public static List<CacheInvalidation> contacts(final String userId, final Collection<UUID> contactIds) {
+        final List<UUID> ids = List.copyOf(contactIds);
+        final List<CacheInvalidation> invalidations = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += MAX_CONTACT_IDS)
+            invalidations.add(new CacheInvalidation(Type.CONTACTS, userId, ids.subList(from, Math.min(ids.size(), from + MAX_CONTACT_IDS))));
+        return invalidations;
+    }
+
+    public static CacheInvalidation userCreated(final String userId) {
+        return new CacheInvalidation(Type.USER_CREATED, userId, List.of());
+    }
+
+    public static CacheInvalidation allContacts() {
+        return new CacheInvalidation(Type.ALL_CONTACTS, "", List.of());
+    }
+
+    String toPayload(final String nodeId) {
+        final String joinedIds = contactIds.stream().map(UUID::toString).collect(Collectors.joining(","));
+        return String.join(" ", nodeId, type.name(), joinedIds.isEmpty() ? "-" : joinedIds, userId);
+    }
+
+    static String nodeIdOf(final String payload) {
+        final int space = payload.indexOf(' ');
+        return space < 0 ? payload : payload.substring(0, space);
+    }
+
+    static CacheInvalidation fromPayload(final String payload) {
+        final String[] parts = payload.split(" ", 4);
+        if (parts.length != 4)
+            throw new IllegalArgumentException("Invalid cache invalidation: " + payload);
+        final List<UUID> contactIds = parts[2].equals("-")
+            ? List.of()
+            : Arrays.stream(parts[2].split(",")).map(UUID::fromString).toList();
+        return new CacheInvalidation(Type.valueOf(parts[1]), parts[3], contactIds);
+    }
+}
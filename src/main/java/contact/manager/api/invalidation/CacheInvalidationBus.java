@@ -0,0 +1,94 @@
+package contact.manager.api.invalidation;
+
+import contact.manager.api.contact.ContactCache;
+import contact.manager.api.contact.MissingContactCache;
+import contact.manager.api.user.KnownUserCache;
+import contact.manager.api.user.MissingUserCache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.util.UUID;
+
+@Component
+public class CacheInvalidationBus {
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final String channel;
+
+    private final ContactCache contactCache;
+
+    private final KnownUserCache knownUserCache;
+
+    private final MissingContactCache missingContactCache;
+
+    private final MissingUserCache missingUserCache;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public CacheInvalidationBus(
+        @Value("${contact-manager.cache-invalidation.channel:contact_manager_cache_invalidation}") final String channel,
+        final ContactCache contactCache,
+        final KnownUserCache knownUserCache,
+        final MissingContactCache missingContactCache,
+        final MissingUserCache missingUserCache
+    ) {
+        this.channel = channel;
+        this.contactCache = contactCache;
+        this.knownUserCache = knownUserCache;
+        this.missingContactCache = missingContactCache;
+        this.missingUserCache = missingUserCache;
+    }
+
+    // the notification is only delivered to the other nodes once the caller's transaction commits
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(final CacheInvalidation invalidation) {
+        final String payload = invalidation.toPayload(nodeId);
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (final PreparedStatement statement = connection.prepareStatement("select pg_notify(?, ?)")) {
+                statement.setString(1, channel);
+                statement.setString(2, payload);
+                statement.execute();
+            }
+        });
+    }
+
+    public void apply(final CacheInvalidation invalidation) {
+        final String userId = invalidation.getUserId();
+        switch (invalidation.getType()) {
+            case CONTACTS -> {
+                contactCache.invalidate(userId, invalidation.getContactIds());
+                missingContactCache.removeAll(invalidation.getContactIds());
+            }
+            case USER_CREATED -> missingUserCache.remove(userId);
+            case ALL_CONTACTS -> {
+                contactCache.invalidateAll();
+                missingContactCache.clear();
+            }
+        }
+    }
+
+    public void resync() {
+        contactCache.invalidateAll();
+        knownUserCache.clear();
+        missingContactCache.clear();
+        missingUserCache.clear();
+    }
+
+    String getNodeId() {
+        return nodeId;
+    }
+
+    String getChannel() {
+        return channel;
+    }
+}
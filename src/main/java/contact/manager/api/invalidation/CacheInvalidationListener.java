@@ -0,0 +1,155 @@
+package contact.manager.api.invalidation;
+
+import lombok.extern.apachecommons.CommonsLog;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Properties;
+
+@CommonsLog
+@Component
+@ConditionalOnProperty(name = "contact-manager.cache-invalidation.enabled", matchIfMissing = true)
+public class CacheInvalidationListener implements SmartLifecycle {
+
+    static final String APPLICATION_NAME = "contact-manager-cache-invalidation";
+
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    private final DataSourceProperties dataSourceProperties;
+
+    private final Duration pollInterval;
+
+    private final Duration reconnectInterval;
+
+    private final Duration socketTimeout;
+
+    private volatile boolean running;
+
+    private volatile boolean listening;
+
+    private Thread thread;
+
+    @Autowired
+    public CacheInvalidationListener(
+        final CacheInvalidationBus cacheInvalidationBus,
+        final DataSourceProperties dataSourceProperties,
+        @Value("${contact-manager.cache-invalidation.poll-interval:PT1S}") final Duration pollInterval,
+        @Value("${contact-manager.cache-invalidation.reconnect-interval:PT1S}") final Duration reconnectInterval,
+        @Value("${contact-manager.cache-invalidation.socket-timeout:PT5S}") final Duration socketTimeout
+    ) {
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.dataSourceProperties = dataSourceProperties;
+        this.pollInterval = pollInterval;
+        this.reconnectInterval = reconnectInterval;
+        this.socketTimeout = socketTimeout;
+    }
+
+    @Override
+    public synchronized void start() {
+        running = true;
+        thread = new Thread(this::run, APPLICATION_NAME);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        thread.interrupt();
+        try {
+            thread.join(pollInterval.plus(socketTimeout).toMillis());
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    public boolean isListening() {
+        return listening;
+    }
+
+    private void run() {
+        while (running) {
+            try (final Connection connection = connect()) {
+                listen(connection);
+            }
+            catch (SQLException exception) {
+                if (running)
+                    log.warn("Cache invalidation listener lost its connection, retrying in " + reconnectInterval, exception);
+            }
+            finally {
+                listening = false;
+            }
+            if (!running) return;
+            // invalidations published while this node was not listening are lost, so nothing cached can be trusted
+            cacheInvalidationBus.resync();
+            try {
+                Thread.sleep(reconnectInterval.toMillis());
+            }
+            catch (InterruptedException exception) {
+                return;
+            }
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        final Properties properties = new Properties();
+        if (dataSourceProperties.determineUsername() != null)
+            properties.setProperty("user", dataSourceProperties.determineUsername());
+        if (dataSourceProperties.determinePassword() != null)
+            properties.setProperty("password", dataSourceProperties.determinePassword());
+        properties.setProperty("ApplicationName", APPLICATION_NAME);
+        properties.setProperty("tcpKeepAlive", "true");
+        properties.setProperty("socketTimeout", String.valueOf(Math.max(1, socketTimeout.toSeconds())));
+        return DriverManager.getConnection(dataSourceProperties.determineUrl(), properties);
+    }
+
+    private void listen(final Connection connection) throws SQLException {
+        try (final Statement statement = connection.createStatement()) {
+            statement.execute("LISTEN \"" + cacheInvalidationBus.getChannel().replace("\"", "\"\"") + "\"");
+        }
+        cacheInvalidationBus.resync();
+        listening = true;
+
+        final PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        while (running) {
+            final PGNotification[] notifications = pgConnection.getNotifications((int) pollInterval.toMillis());
+            if (notifications == null || notifications.length == 0) {
+                // a connection that silently died only fails once something is sent over it
+                try (final Statement statement = connection.createStatement()) {
+                    statement.execute("select 1");
+                }
+                continue;
+            }
+            for (final PGNotification notification : notifications)
+                handle(notification.getParameter());
+        }
+    }
+
+    private void handle(final String payload) {
+        if (CacheInvalidation.nodeIdOf(payload).equals(cacheInvalidationBus.getNodeId())) return;
+        try {
+            cacheInvalidationBus.apply(CacheInvalidation.fromPayload(payload));
+        }
+        catch (RuntimeException exception) {
+            log.warn("Could not apply cache invalidation " + payload + ", resyncing", exception);
+            cacheInvalidationBus.resync();
+        }
+    }
+}
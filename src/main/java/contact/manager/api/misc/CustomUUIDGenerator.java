@@ -3,12 +3,42 @@ package contact.manager.api.misc;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
 import org.hibernate.id.IdentifierGenerator;
 
+import java.security.SecureRandom;
 import java.util.UUID;
 
 public final class CustomUUIDGenerator implements IdentifierGenerator {
 
+    private static final long serialVersionUID = 1L;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private static final int MAX_SEQUENCE = 0xFFF;
+
+    private static long lastTimestamp = -1;
+    private static long sequence;
+
     @Override
     public Object generate(SharedSessionContractImplementor session, Object object) {
-        return UUID.randomUUID();
+        return nextUUID();
+    }
+
+    public static UUID nextUUID() {
+        final long timestampAndSequence = nextTimestampAndSequence();
+        final long mostSigBits = timestampAndSequence | 0x7000L;
+        final long leastSigBits = RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    private static synchronized long nextTimestampAndSequence() {
+        final long currentTimestamp = System.currentTimeMillis();
+        if (currentTimestamp > lastTimestamp) {
+            lastTimestamp = currentTimestamp;
+            sequence = RANDOM.nextInt(MAX_SEQUENCE / 2);
+        }
+        else if (++sequence > MAX_SEQUENCE) {
+            lastTimestamp++;
+            sequence = 0;
+        }
+        return lastTimestamp << 16 | sequence;
     }
 }
@@ -0,0 +1,90 @@
+package contact.manager.api.misc;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ExpiringKeyCache<K> implements MeterBinder {
+
+    private final String name;
+    private final Cache<K, Long> cache;
+    private final AtomicLong stamp = new AtomicLong();
+    private final AtomicLong epoch = new AtomicLong();
+
+    protected ExpiringKeyCache(final String name, final int maximumSize, final Duration timeToLive, final Ticker ticker) {
+        this.name = name;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(timeToLive)
+            .ticker(ticker)
+            .recordStats()
+            .build();
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, name);
+    }
+
+    public long stamp() {
+        return stamp.get();
+    }
+
+    // keys added before the last clear are ignored, as clearing may miss a key added while it runs
+    public boolean contains(final K key) {
+        final Long addedIn = cache.getIfPresent(key);
+        return addedIn != null && addedIn == epoch.get();
+    }
+
+    public void add(final K key) {
+        cache.put(key, epoch.get());
+    }
+
+    // dropped when anything was removed since the stamp was taken, as the lookup may have missed a new row
+    public void add(final K key, final long stamp) {
+        cache.asMap().compute(key, (k, addedIn) -> {
+            final long currentEpoch = epoch.get();
+            return this.stamp.get() == stamp ? Long.valueOf(currentEpoch) : addedIn;
+        });
+    }
+
+    public void remove(final K key) {
+        stamp.incrementAndGet();
+        cache.invalidate(key);
+    }
+
+    public void removeAll(final Collection<K> keys) {
+        stamp.incrementAndGet();
+        cache.invalidateAll(keys);
+    }
+
+    public void clear() {
+        stamp.incrementAndGet();
+        epoch.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    public long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    public long getHitCount() {
+        return cache.stats().hitCount();
+    }
+
+    public long getMissCount() {
+        return cache.stats().missCount();
+    }
+
+    public double getHitRatio() {
+        return cache.stats().hitRate();
+    }
+}
@@ -0,0 +1,26 @@
+package contact.manager.api.misc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.Objects;
+
+public final class JsonMergePatch {
+
+    public static final String MEDIA_TYPE = "application/merge-patch+json";
+
+    private JsonMergePatch() {}
+
+    public static JsonNode apply(final JsonNode target, final JsonNode patch) {
+        if (!patch.isObject()) return patch;
+        final ObjectNode result = Objects.nonNull(target) && target.isObject()
+            ? ((ObjectNode) target).deepCopy()
+            : JsonNodeFactory.instance.objectNode();
+        patch.fields().forEachRemaining(field -> {
+            if (field.getValue().isNull()) result.remove(field.getKey());
+            else result.set(field.getKey(), apply(result.get(field.getKey()), field.getValue()));
+        });
+        return result;
+    }
+}
@@ -0,0 +1,25 @@
+package contact.manager.api.user;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import contact.manager.api.misc.ExpiringKeyCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+public class KnownUserCache extends ExpiringKeyCache<String> {
+
+    @Autowired
+    public KnownUserCache(
+        @Value("${contact-manager.user-cache.maximum-size:10000}") final int maximumSize,
+        @Value("${contact-manager.user-cache.time-to-live:PT10M}") final Duration timeToLive
+    ) {
+        this(maximumSize, timeToLive, Ticker.systemTicker());
+    }
+
+    KnownUserCache(final int maximumSize, final Duration timeToLive, final Ticker ticker) {
+        super("known-users", maximumSize, timeToLive, ticker);
+    }
+}
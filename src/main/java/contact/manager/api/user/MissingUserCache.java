@@ -0,0 +1,25 @@
+package contact.manager.api.user;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import contact.manager.api.misc.ExpiringKeyCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+public class MissingUserCache extends ExpiringKeyCache<String> {
+
+    @Autowired
+    public MissingUserCache(
+        @Value("${contact-manager.missing-user-cache.maximum-size:10000}") final int maximumSize,
+        @Value("${contact-manager.missing-user-cache.time-to-live:PT30S}") final Duration timeToLive
+    ) {
+        this(maximumSize, timeToLive, Ticker.systemTicker());
+    }
+
+    MissingUserCache(final int maximumSize, final Duration timeToLive, final Ticker ticker) {
+        super("missing-users", maximumSize, timeToLive, ticker);
+    }
+}
@@ -13,7 +13,7 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 @Table(name = "users")
-public final class User {
+public class User {
 
     @Id
     @Column(name = "user_id", length = 100)
@@ -1,6 +1,12 @@
 package contact.manager.api.user;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -8,4 +14,18 @@ import java.util.Optional;
 @Repository
 public interface UserRepository extends JpaRepository<User, String> {
     Optional<User> findByUsername(String username);
+
+    @Query(value = "select contacts_version from users where user_id = :id", nativeQuery = true)
+    Optional<Long> findContactsVersionById(@Param("id") String id);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    @Query(
+        value = "update users set contacts_version = contacts_version + 1 where user_id = :id returning contacts_version",
+        nativeQuery = true
+    )
+    Optional<Long> incrementContactsVersionById(@Param("id") String id);
+
+    @Modifying
+    @Query(value = "update users set contacts_version = contacts_version + 1", nativeQuery = true)
+    void incrementAllContactsVersions();
 }
\ No newline at end of file
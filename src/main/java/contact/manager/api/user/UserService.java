@@ -1,10 +1,22 @@
 package contact.manager.api.user;
 
+import org.springframework.web.server.ResponseStatusException;
+
 public interface UserService {
 
     void create(User user);
 
     User findById(String id);
 
+    User findReferenceById(String id);
+
     User findByUsername(String username);
-}
\ No newline at end of file
+
+    long findContactsVersionById(String id);
+
+    long incrementContactsVersion(String id);
+
+    void incrementAllContactsVersions();
+
+    ResponseStatusException forgetDeleted(String id);
+}
@@ -1,5 +1,9 @@
 package contact.manager.api.user;
 
+import contact.manager.api.global.NotFoundException;
+import contact.manager.api.invalidation.CacheInvalidation;
+import contact.manager.api.invalidation.CacheInvalidationBus;
+import contact.manager.api.misc.Tools;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -16,23 +20,87 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
 
+    private final KnownUserCache knownUserCache;
+
+    private final MissingUserCache missingUserCache;
+
+    private final CacheInvalidationBus cacheInvalidationBus;
+
     @Override
     public void create(User user) {
         final Optional<User> userOptional = userRepository.findById(user.getId());
         if (userOptional.isPresent())
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "User already exists");
         userRepository.save(user);
+        missingUserCache.remove(user.getId());
+        Tools.afterCompletion(() -> missingUserCache.remove(user.getId()));
+        cacheInvalidationBus.publish(CacheInvalidation.userCreated(user.getId()));
+        Tools.afterCommit(() -> knownUserCache.add(user.getId()));
     }
 
     @Override
     public User findById(String id) {
-        return userRepository.findById(id)
-            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+        final long stamp = missingUserCache.stamp();
+        if (missingUserCache.contains(id))
+            throw userNotFound();
+        final User user = userRepository.findById(id)
+            .orElseThrow(() -> missing(id, stamp));
+        Tools.afterCommit(() -> knownUserCache.add(id));
+        return user;
+    }
+
+    @Override
+    public User findReferenceById(String id) {
+        if (!knownUserCache.contains(id)) {
+            final long stamp = missingUserCache.stamp();
+            if (missingUserCache.contains(id))
+                throw userNotFound();
+            if (!userRepository.existsById(id))
+                throw missing(id, stamp);
+            Tools.afterCommit(() -> knownUserCache.add(id));
+        }
+        return userRepository.getReferenceById(id);
     }
 
     @Override
     public User findByUsername(String username) {
         return userRepository.findByUsername(username)
-            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+            .orElseThrow(UserServiceImpl::userNotFound);
+    }
+
+    @Override
+    public long findContactsVersionById(String id) {
+        final long stamp = missingUserCache.stamp();
+        if (missingUserCache.contains(id))
+            throw userNotFound();
+        return userRepository.findContactsVersionById(id)
+            .orElseThrow(() -> missing(id, stamp));
+    }
+
+    @Override
+    public long incrementContactsVersion(String id) {
+        return userRepository.incrementContactsVersionById(id)
+            .orElseThrow(() -> forgetDeleted(id));
+    }
+
+    @Override
+    public void incrementAllContactsVersions() {
+        userRepository.incrementAllContactsVersions();
+    }
+
+    // a user deleted outside of the application can still be cached as known until its entry expires
+    @Override
+    public ResponseStatusException forgetDeleted(String id) {
+        knownUserCache.remove(id);
+        return userNotFound();
+    }
+
+    private ResponseStatusException missing(final String id, final long stamp) {
+        missingUserCache.add(id, stamp);
+        return userNotFound();
+    }
+
+    private static ResponseStatusException userNotFound() {
+        return new NotFoundException("User not found");
     }
-}
\ No newline at end of file
+}
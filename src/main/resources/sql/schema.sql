@@ -1,6 +1,8 @@
 CREATE TABLE IF NOT EXISTS users (
     user_id VARCHAR(100) PRIMARY KEY,
-    username VARCHAR(20) NOT NULL UNIQUE
+    username VARCHAR(20) NOT NULL UNIQUE,
+    contacts_version BIGINT NOT NULL DEFAULT 0,
+    tombstones_horizon BIGINT NOT NULL DEFAULT 0
 );
 
 CREATE TABLE IF NOT EXISTS contacts (
@@ -11,12 +13,48 @@ CREATE TABLE IF NOT EXISTS contacts (
     birthday DATE,
     company VARCHAR(100),
     role VARCHAR(50),
+    version BIGINT NOT NULL DEFAULT 0,
+    sync_version BIGINT NOT NULL DEFAULT 0,
     CONSTRAINT fk_users
         FOREIGN KEY (user_id)
         REFERENCES users (user_id)
         ON DELETE CASCADE
 );
 
+ALTER TABLE users ADD COLUMN IF NOT EXISTS contacts_version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS tombstones_horizon BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE contacts ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE contacts ADD COLUMN IF NOT EXISTS sync_version BIGINT NOT NULL DEFAULT 0;
+
+CREATE TABLE IF NOT EXISTS contact_tombstones (
+    contact_id UUID PRIMARY KEY,
+    user_id VARCHAR(100) NOT NULL,
+    version BIGINT NOT NULL,
+    deleted_at TIMESTAMP NOT NULL DEFAULT now(),
+    CONSTRAINT fk_users
+        FOREIGN KEY (user_id)
+        REFERENCES users (user_id)
+        ON DELETE CASCADE
+);
+
+ALTER TABLE contact_tombstones ADD COLUMN IF NOT EXISTS deleted_at TIMESTAMP NOT NULL DEFAULT now();
+
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    user_id VARCHAR(100) NOT NULL,
+    idempotency_key VARCHAR(255) NOT NULL,
+    fingerprint CHAR(64) NOT NULL,
+    contact_ids TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT now(),
+    CONSTRAINT fk_users
+        FOREIGN KEY (user_id)
+        REFERENCES users (user_id)
+        ON DELETE CASCADE,
+    PRIMARY KEY (user_id, idempotency_key)
+);
+
 CREATE TABLE IF NOT EXISTS emails (
     mark VARCHAR(25) NOT NULL,
     email VARCHAR(255) NOT NULL,
@@ -53,3 +91,13 @@ CREATE TABLE IF NOT EXISTS addresses (
         ON DELETE CASCADE,
     PRIMARY KEY (mark, contact_id)
 );
+
+CREATE INDEX IF NOT EXISTS idx_contacts_user_name ON contacts (user_id, name, contact_id);
+
+CREATE INDEX IF NOT EXISTS idx_contacts_user_sync_version ON contacts (user_id, sync_version);
+
+CREATE INDEX IF NOT EXISTS idx_contact_tombstones_user_version ON contact_tombstones (user_id, version);
+
+CREATE INDEX IF NOT EXISTS idx_contact_tombstones_deleted_at ON contact_tombstones (deleted_at);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_created_at ON idempotency_keys (created_at);
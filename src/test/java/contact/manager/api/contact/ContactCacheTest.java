@@ -0,0 +1,179 @@
+package contact.manager.api.contact;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ContactCacheTest {
+
+    @Test
+    @DisplayName("Should return copies of the cached contacts and count hits and misses")
+    void shouldReturnCopiesOfTheCachedContactsAndCountHitsAndMisses() {
+        ContactCache contactCache = new ContactCache(64 * 1024);
+        Contact contact = contact("Best friend Julia");
+
+        assertThat(contactCache.getList("auth0|1")).isEmpty();
+        contactCache.putList("auth0|1", List.of(contact), contactCache.stamp("auth0|1"));
+        contactCache.getList("auth0|1").orElseThrow().get(0).putPhoneNumber("work", "+15550000000");
+
+        assertThat(contactCache.getList("auth0|1")).hasValueSatisfying(contacts -> assertThat(contacts)
+            .singleElement()
+            .satisfies(cachedContact -> {
+                assertThat(cachedContact.getId()).isEqualTo(contact.getId());
+                assertThat(cachedContact.getVersion()).isEqualTo(contact.getVersion());
+                assertThat(cachedContact.getPhoneNumberMap()).containsOnlyKeys("home");
+            })
+        );
+        assertThat(contactCache.getHitCount()).isEqualTo(2);
+        assertThat(contactCache.getMissCount()).isEqualTo(1);
+        assertThat(contactCache.getHitRatio()).isEqualTo(2.0 / 3);
+    }
+
+    @Test
+    @DisplayName("Should only return a contact to the user who owns it")
+    void shouldOnlyReturnAContactToTheUserWhoOwnsIt() {
+        ContactCache contactCache = new ContactCache(64 * 1024);
+        Contact contact = contact("Mom");
+        contactCache.putContact("auth0|1", contact, contactCache.stamp("auth0|1"));
+
+        assertThat(contactCache.getContact(contact.getId(), "auth0|2")).isEmpty();
+        assertThat(contactCache.getContact(contact.getId(), "auth0|1")).hasValueSatisfying(cachedContact ->
+            assertThat(cachedContact.getName()).isEqualTo("Mom")
+        );
+    }
+
+    @Test
+    @DisplayName("Should drop the list and the contacts of a user when they are invalidated")
+    void shouldDropTheListAndTheContactsOfAUserWhenTheyAreInvalidated() {
+        ContactCache contactCache = new ContactCache(64 * 1024);
+        Contact mom = contact("Mom");
+        Contact uncle = contact("Uncle Jeff");
+        contactCache.putList("auth0|1", List.of(mom, uncle), contactCache.stamp("auth0|1"));
+        contactCache.putContact("auth0|1", mom, contactCache.stamp("auth0|1"));
+        contactCache.putContact("auth0|1", uncle, contactCache.stamp("auth0|1"));
+
+        contactCache.invalidate("auth0|1", List.of(mom.getId()));
+
+        assertThat(contactCache.getList("auth0|1")).isEmpty();
+        assertThat(contactCache.getContact(mom.getId(), "auth0|1")).isEmpty();
+        assertThat(contactCache.getContact(uncle.getId(), "auth0|1")).isPresent();
+
+        contactCache.invalidateUser("auth0|1");
+
+        assertThat(contactCache.size()).isZero();
+        assertThat(contactCache.getWeightedSize()).isZero();
+        assertThat(contactCache.getEvictionCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not cache what was read before a concurrent invalidation")
+    void shouldNotCacheWhatWasReadBeforeAConcurrentInvalidation() {
+        ContactCache contactCache = new ContactCache(64 * 1024);
+        long stamp = contactCache.stamp("auth0|1");
+
+        contactCache.invalidate("auth0|1", List.of());
+        contactCache.putList("auth0|1", List.of(contact("Mom")), stamp);
+
+        assertThat(contactCache.getList("auth0|1")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should only return the JSON cached for the requested version and drop it with its user's entries")
+    void shouldOnlyReturnTheJsonCachedForTheRequestedVersionAndDropItWithItsUsersEntries() {
+        ContactCache contactCache = new ContactCache(64 * 1024);
+        Contact mom = contact("Mom");
+        byte[] listJson = "[{\"name\":\"Mom\"}]".getBytes(StandardCharsets.UTF_8);
+        byte[] contactJson = "{\"name\":\"Mom\"}".getBytes(StandardCharsets.UTF_8);
+        contactCache.putListJson("auth0|1", 3, listJson, contactCache.stamp("auth0|1"));
+        contactCache.putContactJson(mom.getId(), "auth0|1", 0, contactJson, contactCache.stamp("auth0|1"));
+
+        assertThat(contactCache.getListJson("auth0|1", 3)).containsSame(listJson);
+        assertThat(contactCache.getListJson("auth0|1", 4)).isEmpty();
+        assertThat(contactCache.getList("auth0|1")).isEmpty();
+        assertThat(contactCache.getContactJson(mom.getId(), "auth0|1", 0)).containsSame(contactJson);
+        assertThat(contactCache.getContactJson(mom.getId(), "auth0|2", 0)).isEmpty();
+        assertThat(contactCache.getHitCount()).isEqualTo(2);
+        assertThat(contactCache.getMissCount()).isEqualTo(3);
+
+        contactCache.invalidate("auth0|1", List.of(mom.getId()));
+
+        assertThat(contactCache.getListJson("auth0|1", 3)).isEmpty();
+        assertThat(contactCache.getContactJson(mom.getId(), "auth0|1", 0)).isEmpty();
+        assertThat(contactCache.getWeightedSize()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should stay within its maximum weight and keep frequently read entries over a scan of new ones")
+    void shouldStayWithinItsMaximumWeightAndKeepFrequentlyReadEntriesOverAScanOfNewOnes() {
+        ContactCache contactCache = new ContactCache(10_000);
+        for (int i = 0; i < 20; i++)
+            contactCache.putList("auth0|warm" + i, List.of(contact("Contact " + i)), contactCache.stamp("auth0|warm" + i));
+        for (int i = 0; i < 5; i++) {
+            if (contactCache.getList("auth0|hot").isEmpty())
+                contactCache.putList("auth0|hot", List.of(contact("Best friend Julia")), contactCache.stamp("auth0|hot"));
+            contactCache.size();
+        }
+        assertThat(contactCache.getList("auth0|hot")).isPresent();
+
+        for (int i = 0; i < 500; i++) {
+            String userId = "auth0|" + i;
+            contactCache.getList(userId);
+            contactCache.putList(userId, List.of(contact("Contact " + i)), contactCache.stamp(userId));
+        }
+
+        assertThat(contactCache.getWeightedSize()).isLessThanOrEqualTo(10_000);
+        assertThat(contactCache.getEvictionCount()).isGreaterThan(400);
+        assertThat(contactCache.getEvictionWeight()).isGreaterThan(0);
+        assertThat(contactCache.getList("auth0|hot")).isPresent();
+    }
+
+    @Test
+    @DisplayName("Should serve concurrent reads and writes without losing track of its weight")
+    void shouldServeConcurrentReadsAndWritesWithoutLosingTrackOfItsWeight() throws Exception {
+        ContactCache contactCache = new ContactCache(10_000);
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                futures.add(executorService.submit(() -> {
+                    for (int i = 0; i < 20_000; i++) {
+                        String userId = "auth0|" + ThreadLocalRandom.current().nextInt(50);
+                        if (contactCache.getList(userId).isEmpty())
+                            contactCache.putList(userId, List.of(contact("Contact " + i)), contactCache.stamp(userId));
+                        if (i % 100 == 0)
+                            contactCache.invalidate(userId, List.of());
+                    }
+                }));
+            }
+            for (Future<?> future : futures)
+                future.get(30, TimeUnit.SECONDS);
+        }
+        finally {
+            executorService.shutdownNow();
+        }
+
+        assertThat(contactCache.getWeightedSize()).isBetween(1L, 10_000L);
+        for (int i = 0; i < 50; i++)
+            contactCache.invalidateUser("auth0|" + i);
+        assertThat(contactCache.size()).isZero();
+        assertThat(contactCache.getWeightedSize()).isZero();
+    }
+
+    private static Contact contact(String name) {
+        Contact contact = new Contact(name, UUID.randomUUID());
+        contact.putPhoneNumber("home", "+15551234567");
+        contact.putEmail("main", "contact@mail.com");
+        return contact;
+    }
+}
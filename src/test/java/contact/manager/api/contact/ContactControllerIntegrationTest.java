@@ -16,7 +16,15 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 
 import static contact.manager.api.misc.TestResources.*;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -94,6 +102,191 @@ public class ContactControllerIntegrationTest {
             .andExpect(content().string("User not found"));
         }
 
+        @Test
+        @DisplayName("Should respond 304 to a poll with the current ETag and 200 once the list changed")
+        public void shouldRespond304ToAPollWithTheCurrentETagAnd200OnceTheListChanged() throws Exception {
+            final String eTag = mockMvc.perform(get("/api/contacts")
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.ROBERT.jwt()))
+                .accept(MediaType.APPLICATION_JSON)
+            )
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader("ETag");
+
+            mockMvc.perform(get("/api/contacts")
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.ROBERT.jwt()))
+                .header("If-None-Match", eTag)
+                .accept(MediaType.APPLICATION_JSON)
+            )
+            .andExpect(status().isNotModified());
+
+            mockMvc.perform(delete("/api/contacts/7f23057f-77bd-4568-ac64-e933abae9a09")
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.ROBERT.jwt()))
+            )
+            .andExpect(status().isOk());
+
+            mockMvc.perform(get("/api/contacts")
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.ROBERT.jwt()))
+                .header("If-None-Match", eTag)
+                .accept(MediaType.APPLICATION_JSON)
+            )
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", not(eTag)))
+            .andExpect(jsonPath("$").value(hasSize(3)));
+        }
+    }
+
+    @Nested
+    @DisplayName("/api/contacts?fields")
+    public class GetWithFields {
+
+        @Test
+        @DisplayName("Should respond with only the requested fields of all of the contacts of a user")
+        public void shouldRespondWithOnlyTheRequestedFieldsOfAllOfTheContactsOfAUser() throws Exception {
+            mockMvc.perform(get("/api/contacts")
+                .param("fields", "name,phoneNumbers")
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.JOE.jwt()))
+                .accept(MediaType.APPLICATION_JSON)
+            )
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+            .andExpect(jsonPath("$[*].name").value(contains("Coworker Fred", "Greg from accounting", "Sister Monica")))
+            .andExpect(jsonPath("$[*].phoneNumbers.*").value(hasSize(5)))
+            .andExpect(jsonPath("$[*].id").doesNotExist())
+            .andExpect(jsonPath("$[*].emails").doesNotExist())
+            .andExpect(jsonPath("$[*].addresses").doesNotExist());
+        }
+
+        @Test
+        @DisplayName("Should respond with only the requested fields of a contact")
+        public void shouldRespondWithOnlyTheRequestedFieldsOfAContact() throws Exception {
+            mockMvc.perform(get("/api/contacts/5c21433c-3c70-4253-a4b2-52b157be4167")
+                .param("fields", "id,emails")
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.JOE.jwt()))
+                .accept(MediaType.APPLICATION_JSON)
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value("5c21433c-3c70-4253-a4b2-52b157be4167"))
+            .andExpect(jsonPath("$.emails.main").value("sailor.greg99@hotmail.co.jp"))
+            .andExpect(jsonPath("$.name").doesNotExist())
+            .andExpect(jsonPath("$.phoneNumbers").doesNotExist());
+        }
+
+        @Test
+        @DisplayName("When requesting an unknown field then should respond 400")
+        public void whenRequestingAnUnknownField_thenShouldRespond400() throws Exception {
+            mockMvc.perform(get("/api/contacts")
+                .param("fields", "name,nickname")
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.JOE.jwt()))
+                .accept(MediaType.ALL)
+            )
+            .andExpect(status().isBadRequest())
+            .andExpect(content().string("Unknown field: nickname"));
+        }
+    }
+
+    @Nested
+    @DisplayName("/api/contacts?stream=true")
+    public class StreamAll {
+
+        @Test
+        @DisplayName("Should stream all of the contacts of a user in the same format as the full list")
+        public void shouldStreamAllOfTheContactsOfAUserInTheSameFormatAsTheFullList() throws Exception {
+            String expectedContent = mockMvc.perform(get("/api/contacts")
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.ROBERT.jwt()))
+                .accept(MediaType.APPLICATION_JSON)
+            )
+            .andReturn().getResponse().getContentAsString();
+
+            mockMvc.perform(get("/api/contacts")
+                .param("stream", "true")
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.ROBERT.jwt()))
+                .accept(MediaType.APPLICATION_JSON)
+            )
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+            .andExpect(jsonPath("$[*].name").value(contains("Best friend Julia", "Mom", "Pizza and burgers", "Uncle Jeff")))
+            .andExpect(content().json(expectedContent, true));
+        }
+
+        @Test
+        @DisplayName("When streaming the contacts of a non-existing user then should respond 404")
+        public void whenStreamingTheContactsOfANonExistingUser_thenShouldRespond404() throws Exception {
+            mockMvc.perform(get("/api/contacts")
+                .param("stream", "true")
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.JULIA.jwt()))
+                .accept(MediaType.ALL)
+            )
+            .andExpect(status().isNotFound())
+            .andExpect(content().string("User not found"));
+        }
+    }
+
+    @Nested
+    @DisplayName("/api/contacts?view=summary")
+    public class GetSummaries {
+
+        @Test
+        @DisplayName("Should respond with the summaries of all of the contacts of a user")
+        public void shouldRespondWithTheSummariesOfAllOfTheContactsOfAUser() throws Exception {
+            mockMvc.perform(get("/api/contacts")
+                .param("view", "summary")
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.JOE.jwt()))
+                .accept(MediaType.APPLICATION_JSON)
+            )
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+            .andExpect(jsonPath("$[*].name").value(contains("Coworker Fred", "Greg from accounting", "Sister Monica")))
+            .andExpect(jsonPath("$[*].phoneNumber").value(contains("+525465365876", "+3592659480427", "+657742480921")))
+            .andExpect(jsonPath("$[*].id").value(hasSize(3)))
+            .andExpect(jsonPath("$[*].company").value(hasSize(3)))
+            .andExpect(jsonPath("$[*].emails").doesNotExist())
+            .andExpect(jsonPath("$[*].addresses").doesNotExist());
+        }
+    }
+
+    @Nested
+    @DisplayName("/api/contacts?limit")
+    public class GetPage {
+
+        @Test
+        @DisplayName("Should respond with the contacts of a user page by page")
+        public void shouldRespondWithTheContactsOfAUserPageByPage() throws Exception {
+            String response = mockMvc.perform(get("/api/contacts")
+                .param("limit", "3")
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.ROBERT.jwt()))
+                .accept(MediaType.APPLICATION_JSON)
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.contacts[*].name").value(contains("Best friend Julia", "Mom", "Pizza and burgers")))
+            .andExpect(jsonPath("$.next").isNotEmpty())
+            .andReturn().getResponse().getContentAsString();
+
+            String next = com.jayway.jsonpath.JsonPath.read(response, "$.next");
+
+            mockMvc.perform(get("/api/contacts")
+                .param("limit", "3")
+                .param("after", next)
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.ROBERT.jwt()))
+                .accept(MediaType.APPLICATION_JSON)
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.contacts[*].name").value(contains("Uncle Jeff")))
+            .andExpect(jsonPath("$.contacts[0].phoneNumbers.*").value(hasSize(2)))
+            .andExpect(jsonPath("$.next").doesNotExist());
+        }
+
+        @Test
+        @DisplayName("When provided a malformed cursor then should respond 400")
+        public void whenProvidedAMalformedCursor_thenShouldRespond400() throws Exception {
+            mockMvc.perform(get("/api/contacts")
+                .param("limit", "3")
+                .param("after", "not-a-cursor")
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.ROBERT.jwt()))
+                .accept(MediaType.ALL)
+            )
+            .andExpect(status().isBadRequest())
+            .andExpect(content().string("Invalid cursor"));
+        }
     }
 
     @Nested
@@ -188,6 +381,252 @@ public class ContactControllerIntegrationTest {
             )
             .andExpect(status().isUnauthorized());
         }
+
+        @Test
+        @DisplayName("Should respond 304 to a request with the current ETag and 200 once the contact changed")
+        public void shouldRespond304ToARequestWithTheCurrentETagAnd200OnceTheContactChanged() throws Exception {
+            final String contactUrl = "/api/contacts/4fe25947-ecab-489c-a881-e0057124e408";
+            final String eTag = mockMvc.perform(get(contactUrl)
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.JOE.jwt()))
+                .accept(MediaType.APPLICATION_JSON)
+            )
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader("ETag");
+
+            mockMvc.perform(get(contactUrl)
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.JOE.jwt()))
+                .header("If-None-Match", eTag)
+                .accept(MediaType.APPLICATION_JSON)
+            )
+            .andExpect(status().isNotModified());
+
+            mockMvc.perform(put(contactUrl)
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.JOE.jwt()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(newContactJsonWithoutId())
+            )
+            .andExpect(status().isOk());
+
+            mockMvc.perform(get(contactUrl)
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.JOE.jwt()))
+                .header("If-None-Match", eTag)
+                .accept(MediaType.APPLICATION_JSON)
+            )
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", not(eTag)));
+        }
+    }
+
+    @Nested
+    @DisplayName("/api/contacts/batch")
+    public class CreateAll {
+
+        @Test
+        @DisplayName("Should create all of the contacts of a batch for a user")
+        public void shouldCreateAllOfTheContactsOfABatchForAUser() throws Exception {
+            mockMvc.perform(post("/api/contacts/batch")
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.ROBERT.jwt()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .content("[" + newContactJsonWithoutId() + "," + newContactJsonWithoutId() + "]")
+            )
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$[*].id").value(hasSize(2)));
+
+            assertThat(contactManagerService.findAllByUserId(Users.ROBERT.id())).hasSize(6);
+        }
+
+        @Test
+        @DisplayName("When a batch is retried with the same Idempotency-Key then should respond with the same ids and create it once")
+        public void whenABatchIsRetriedWithTheSameIdempotencyKey_thenShouldRespondWithTheSameIdsAndCreateItOnce() throws Exception {
+            final String requestBody = "[" + newContactJsonWithoutId() + "]";
+            final String[] responses = new String[2];
+            for (int attempt = 0; attempt < 2; attempt++) {
+                responses[attempt] = mockMvc.perform(post("/api/contacts/batch")
+                    .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.ROBERT.jwt()))
+                    .header(IdempotencyKey.HEADER, "3f1c2a4e-retry")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .accept(MediaType.APPLICATION_JSON)
+                    .content(requestBody)
+                )
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+            }
+
+            assertThat(responses[1]).isEqualTo(responses[0]);
+            assertThat(contactManagerService.findAllByUserId(Users.ROBERT.id())).hasSize(5);
+        }
+    }
+
+    @Nested
+    @DisplayName("/api/contacts/import")
+    public class ImportAll {
+
+        @Test
+        @DisplayName("Should import the valid records of a CSV file and report the rejected ones")
+        public void shouldImportTheValidRecordsOfACsvFileAndReportTheRejectedOnes() throws Exception {
+            final String csv = """
+                name,company,phoneNumbers.home,emails.main
+                Anna Smith,Acme,+15551234567,anna@acme.com
+                X,Acme,+15551234567,
+                Bob Jones,,+15559876543,bob@jones.com
+                """;
+
+            final String response = mockMvc.perform(post("/api/contacts/import")
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.ROBERT.jwt()))
+                .contentType("text/csv")
+                .content(csv)
+            )
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+            .andReturn().getResponse().getContentAsString();
+
+            final List<String> results = response.lines().toList();
+            assertThat(results).hasSize(3);
+            assertThat(results.get(0)).contains("\"index\":1").contains("name is too short");
+            assertThat(results.get(1)).contains("\"index\":0").contains("\"id\":\"");
+            assertThat(results.get(2)).contains("\"index\":2").contains("\"id\":\"");
+            assertThat(contactManagerService.findAllByUserId(Users.ROBERT.id()))
+                .extracting(Contact::getName)
+                .contains("Anna Smith", "Bob Jones")
+                .hasSize(6);
+        }
+
+        @Test
+        @DisplayName("Should import the cards of a vCard file")
+        public void shouldImportTheCardsOfAVCardFile() throws Exception {
+            final String vCard = """
+                BEGIN:VCARD
+                VERSION:4.0
+                FN:Joe Smith
+                TEL;VALUE=uri;TYPE=work:tel:+15559876543
+                END:VCARD
+                """;
+
+            mockMvc.perform(post("/api/contacts/import")
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.ROBERT.jwt()))
+                .contentType("text/vcard")
+                .content(vCard)
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.index").value(0));
+
+            assertThat(contactManagerService.findAllByUserId(Users.ROBERT.id()))
+                .filteredOn(contact -> contact.getName().equals("Joe Smith"))
+                .singleElement()
+                .satisfies(contact -> assertThat(contact.getPhoneNumberMap()).containsEntry("work", "+15559876543"));
+        }
+
+        @Test
+        @DisplayName("When importing for a non-existing user then should respond 404")
+        public void whenImportingForANonExistingUser_thenShouldRespond404() throws Exception {
+            mockMvc.perform(post("/api/contacts/import")
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.JULIA.jwt()))
+                .contentType("text/csv")
+                .accept(MediaType.ALL)
+                .content("name\nAnna Smith\n")
+            )
+            .andExpect(status().isNotFound())
+            .andExpect(content().string("User not found"));
+        }
+
+        @Test
+        @DisplayName("When the CSV header is invalid then should respond 400 and import nothing")
+        public void whenTheCsvHeaderIsInvalid_thenShouldRespond400AndImportNothing() throws Exception {
+            mockMvc.perform(post("/api/contacts/import")
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.ROBERT.jwt()))
+                .contentType("text/csv")
+                .accept(MediaType.ALL)
+                .content("name,nickname\nAnna Smith,Annie\n")
+            )
+            .andExpect(status().isBadRequest())
+            .andExpect(content().string("Unknown CSV column: nickname"));
+
+            assertThat(contactManagerService.findAllByUserId(Users.ROBERT.id())).hasSize(4);
+        }
+    }
+
+    @Nested
+    @DisplayName("/api/contacts/export")
+    public class ExportAll {
+
+        @Test
+        @DisplayName("Should export the contacts of a user as a CSV file that can be imported again")
+        public void shouldExportTheContactsOfAUserAsACsvFileThatCanBeImportedAgain() throws Exception {
+            final String csv = mockMvc.perform(get("/api/contacts/export")
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.ROBERT.jwt()))
+                .param("format", "csv")
+            )
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("text/csv"))
+            .andExpect(header().string("Content-Disposition", containsString("contacts.csv")))
+            .andExpect(header().doesNotExist("Content-Encoding"))
+            .andReturn().getResponse().getContentAsString();
+
+            assertThat(csv).startsWith("name,birthday,company,role");
+            assertThat(readAll(CsvContactReader.open(new StringReader(csv))))
+                .usingRecursiveFieldByFieldElementComparatorIgnoringFields("id", "addedOn")
+                .containsExactlyInAnyOrderElementsOf(Contact.toListOfContactData(contactManagerService.findAllByUserId(Users.ROBERT.id())));
+        }
+
+        @Test
+        @DisplayName("Should export the contacts of a user as a gzip encoded vCard file when the client accepts gzip")
+        public void shouldExportTheContactsOfAUserAsAGzipEncodedVCardFileWhenTheClientAcceptsGzip() throws Exception {
+            final byte[] body = mockMvc.perform(get("/api/contacts/export")
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.ROBERT.jwt()))
+                .param("format", "vcf")
+                .header("Accept-Encoding", "br;q=1.0, gzip;q=0.8")
+            )
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("text/vcard"))
+            .andExpect(header().string("Content-Encoding", "gzip"))
+            .andExpect(header().string("Vary", containsString("Accept-Encoding")))
+            .andReturn().getResponse().getContentAsByteArray();
+
+            final Reader vCard = new InputStreamReader(new GZIPInputStream(new ByteArrayInputStream(body)), StandardCharsets.UTF_8);
+            assertThat(readAll(new VCardContactReader(vCard)))
+                .extracting(ContactData::getName)
+                .containsExactlyInAnyOrderElementsOf(
+                    contactManagerService.findAllByUserId(Users.ROBERT.id()).stream().map(Contact::getName).toList()
+                );
+        }
+
+        @Test
+        @DisplayName("When the format is unknown then should respond 400")
+        public void whenTheFormatIsUnknown_thenShouldRespond400() throws Exception {
+            mockMvc.perform(get("/api/contacts/export")
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.ROBERT.jwt()))
+                .param("format", "xml")
+            )
+            .andExpect(status().isBadRequest())
+            .andExpect(content().string("format must be csv or vcf"));
+        }
+
+        private static List<ContactData> readAll(final ContactReader contactReader) throws IOException {
+            final List<ContactData> contacts = new ArrayList<>();
+            for (ContactData contactData = contactReader.read(); contactData != null; contactData = contactReader.read())
+                contacts.add(contactData);
+            return contacts;
+        }
+    }
+
+    @Nested
+    @DisplayName("/api/contacts/batch-get")
+    public class GetAllByIds {
+
+        @Test
+        @DisplayName("Should respond with the requested contacts of a user and report the others as missing")
+        public void shouldRespondWithTheRequestedContactsOfAUserAndReportTheOthersAsMissing() throws Exception {
+            mockMvc.perform(post("/api/contacts/batch-get")
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.ROBERT.jwt()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .content("[\"84edd1b9-89a5-4107-a84d-435676c2b8f5\", \"4fe25947-ecab-489c-a881-e0057124e408\"]")
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.contacts[*].name").value(contains("Mom")))
+            .andExpect(jsonPath("$.missing[0]").value("4fe25947-ecab-489c-a881-e0057124e408"));
+        }
     }
 
     @Nested
@@ -437,6 +876,90 @@ public class ContactControllerIntegrationTest {
         }
     }
 
+    @Nested
+    @DisplayName("PATCH /api/contacts/{id}")
+    public class Patch {
+
+        @Test
+        @DisplayName("Should apply a merge patch to a contact of a user")
+        public void shouldApplyAMergePatchToAContactOfAUser() throws Exception {
+            final String contactUrl = "/api/contacts/84edd1b9-89a5-4107-a84d-435676c2b8f5";
+            mockMvc.perform(put(contactUrl)
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.ROBERT.jwt()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(newContactJsonWithoutId())
+            )
+            .andExpect(status().isOk());
+
+            mockMvc.perform(patch(contactUrl)
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.ROBERT.jwt()))
+                .contentType("application/merge-patch+json")
+                .content("{\"role\": null, \"emails\": {\"backup\": \"mom.backup@mail.com\"}}")
+            )
+            .andExpect(status().isOk());
+
+            mockMvc.perform(get(contactUrl)
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.ROBERT.jwt()))
+                .accept(MediaType.APPLICATION_JSON)
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.role").doesNotExist())
+            .andExpect(jsonPath("$.emails.backup").value("mom.backup@mail.com"))
+            .andExpect(jsonPath("$.emails.*").value(hasSize(4)));
+        }
+
+        @Test
+        @DisplayName("When patching with the ETag of a version that was since replaced then should respond 412")
+        public void whenPatchingWithTheETagOfAVersionThatWasSinceReplaced_thenShouldRespond412() throws Exception {
+            final String contactUrl = "/api/contacts/84edd1b9-89a5-4107-a84d-435676c2b8f5";
+            final String eTag = mockMvc.perform(get(contactUrl)
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.ROBERT.jwt()))
+                .accept(MediaType.APPLICATION_JSON)
+            )
+            .andReturn().getResponse().getHeader("ETag");
+
+            mockMvc.perform(put(contactUrl)
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.ROBERT.jwt()))
+                .header("If-Match", eTag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(newContactJsonWithoutId())
+            )
+            .andExpect(status().isOk());
+
+            mockMvc.perform(patch(contactUrl)
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.ROBERT.jwt()))
+                .header("If-Match", eTag)
+                .contentType("application/merge-patch+json")
+                .accept(MediaType.ALL)
+                .content("{\"role\": null}")
+            )
+            .andExpect(status().isPreconditionFailed())
+            .andExpect(content().string("Contact was modified by another request"));
+        }
+    }
+
+    @Nested
+    @DisplayName("/api/contacts/bulk-delete")
+    public class DeleteAllByIds {
+
+        @Test
+        @DisplayName("Should delete the requested contacts of a user and leave the others untouched")
+        public void shouldDeleteTheRequestedContactsOfAUserAndLeaveTheOthersUntouched() throws Exception {
+            mockMvc.perform(post("/api/contacts/bulk-delete")
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.ROBERT.jwt()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .content("[\"84edd1b9-89a5-4107-a84d-435676c2b8f5\", \"4fe25947-ecab-489c-a881-e0057124e408\"]")
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.deleted[0]").value("84edd1b9-89a5-4107-a84d-435676c2b8f5"))
+            .andExpect(jsonPath("$.missing[0]").value("4fe25947-ecab-489c-a881-e0057124e408"));
+
+            assertThat(contactManagerService.findAllByUserId(Users.ROBERT.id())).hasSize(3);
+            assertThat(contactManagerService.findAllByUserId(Users.JOE.id())).hasSize(3);
+        }
+    }
+
     @Nested
     public class Delete {
 
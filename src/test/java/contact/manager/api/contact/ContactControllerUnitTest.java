@@ -1,12 +1,16 @@
 package contact.manager.api.contact;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import contact.manager.api.global.GlobalErrorController;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatchers;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -14,16 +18,26 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.validation.BindException;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 import static contact.manager.api.misc.TestResources.*;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -39,6 +53,9 @@ public class ContactControllerUnitTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     private final String JSON_BODY = """
         {
         "id": "ff55ef9d-e912-4548-a790-50158470fafa",
@@ -68,6 +85,18 @@ public class ContactControllerUnitTest {
     }
     """;
 
+    // the JSON of lists and contacts is serialized from what the mocked service finds, as the service would
+    @BeforeEach
+    void serializeWhatTheServiceFinds() {
+        when(contactManagerService.findAllJsonByUserId(anyString(), anyLong())).thenAnswer(invocation ->
+            objectMapper.writeValueAsBytes(Contact.toListOfContactData(contactManagerService.findAllByUserId(invocation.getArgument(0))))
+        );
+        when(contactManagerService.findJsonByIdWithUser(ArgumentMatchers.any(UUID.class), anyString())).thenAnswer(invocation -> {
+            final Contact contact = contactManagerService.findByIdWithUser(invocation.getArgument(0), invocation.getArgument(1));
+            return new ContactJson(contact.getVersion(), objectMapper.writeValueAsBytes(contact.toContactDta()));
+        });
+    }
+
     @Nested
     @DisplayName("GetAll /api/contacts")
     public class GetAll {
@@ -142,6 +171,255 @@ public class ContactControllerUnitTest {
 
             verify(contactManagerService, once()).findAllByUserId(eq(Users.JULIA.id()));
         }
+
+        @Test
+        @DisplayName("Should tag the contacts of a user with the version of their list")
+        void shouldTagTheContactsOfAUserWithTheVersionOfTheirList() throws Exception {
+            when(contactManagerService.findListVersionByUserId(eq(Users.JOE.id()))).thenReturn(7L);
+            when(contactManagerService.findAllByUserId(eq(Users.JOE.id()))).thenReturn(getContactsByUser("joe"));
+
+            mockMvc.perform(get("/api/contacts")
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.JOE.jwt()))
+                .accept(MediaType.APPLICATION_JSON)
+            )
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", "\"7\""))
+            .andExpect(jsonPath("$").value(hasSize(3)));
+        }
+
+        @Test
+        @DisplayName("When the list of a user has not changed then should respond 304 without loading the contacts")
+        void whenTheListOfAUserHasNotChanged_thenShouldRespond304WithoutLoadingTheContacts() throws Exception {
+            when(contactManagerService.findListVersionByUserId(eq(Users.JOE.id()))).thenReturn(7L);
+
+            mockMvc.perform(get("/api/contacts")
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.JOE.jwt()))
+                .header("If-None-Match", "\"7\"")
+                .accept(MediaType.APPLICATION_JSON)
+            )
+            .andExpect(status().isNotModified())
+            .andExpect(header().string("ETag", "\"7\""))
+            .andExpect(content().string(""));
+
+            verify(contactManagerService, never()).findAllByUserId(ArgumentMatchers.anyString());
+        }
+
+        @Test
+        @DisplayName("Should write the JSON the service has for the version of the list")
+        void shouldWriteTheJsonTheServiceHasForTheVersionOfTheList() throws Exception {
+            when(contactManagerService.findListVersionByUserId(eq(Users.JOE.id()))).thenReturn(7L);
+            when(contactManagerService.findAllJsonByUserId(eq(Users.JOE.id()), eq(7L)))
+                .thenReturn("[{\"name\":\"Cached\"}]".getBytes(StandardCharsets.UTF_8));
+
+            mockMvc.perform(get("/api/contacts")
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.JOE.jwt()))
+                .accept(MediaType.APPLICATION_JSON)
+            )
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+            .andExpect(header().string("ETag", "\"7\""))
+            .andExpect(content().string("[{\"name\":\"Cached\"}]"));
+
+            verify(contactManagerService, never()).findAllByUserId(ArgumentMatchers.anyString());
+        }
+    }
+
+    @Nested
+    @DisplayName("StreamAll /api/contacts?stream=true")
+    public class StreamAll {
+
+        @Test
+        @DisplayName("Should write every contact handed over by the service as a JSON array")
+        @SuppressWarnings("unchecked")
+        void shouldWriteEveryContactHandedOverByTheServiceAsAJsonArray() throws Exception {
+            doAnswer(invocation -> {
+                getContactsForRobert().forEach(invocation.getArgument(1, Consumer.class));
+                return null;
+            }).when(contactManagerService).forEachByUserId(eq(Users.ROBERT.id()), ArgumentMatchers.any(Consumer.class));
+
+            mockMvc.perform(get("/api/contacts")
+                .param("stream", "true")
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.ROBERT.jwt()))
+                .accept(MediaType.APPLICATION_JSON)
+            )
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+            .andExpect(jsonPath("$[*].name").value(containsInAnyOrder("Best friend Julia", "Mom", "Pizza and burgers", "Uncle Jeff")))
+            .andExpect(jsonPath("$[*].phoneNumbers.*").value(hasSize(7)));
+
+            verify(contactManagerService, once()).forEachByUserId(eq(Users.ROBERT.id()), ArgumentMatchers.any(Consumer.class));
+            verify(contactManagerService, never()).findAllByUserId(anyString());
+        }
+    }
+
+    @Nested
+    @DisplayName("GetSummaries /api/contacts?view=summary")
+    public class GetSummaries {
+
+        @Test
+        @DisplayName("Should respond with the summaries of the contacts of a user")
+        void shouldRespondWithTheSummariesOfTheContactsOfAUser() throws Exception {
+            List<ContactSummary> summaries = getContactsForJoe().stream()
+                .map(contact -> (ContactSummary) new ContactSummary() {
+                    public UUID getId() { return contact.getId(); }
+                    public String getName() { return contact.getName(); }
+                    public String getCompany() { return contact.getCompany(); }
+                    public String getPhoneNumber() { return contact.getPhoneNumberMap().values().iterator().next(); }
+                })
+                .toList();
+            when(contactManagerService.findAllSummariesByUserId(eq(Users.JOE.id()))).thenReturn(summaries);
+
+            mockMvc.perform(get("/api/contacts")
+                .param("view", "summary")
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.JOE.jwt()))
+                .accept(MediaType.APPLICATION_JSON)
+            )
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+            .andExpect(jsonPath("$[*].name").value(containsInAnyOrder("Greg from accounting", "Coworker Fred", "Sister Monica")))
+            .andExpect(jsonPath("$[*].phoneNumber").value(hasSize(3)))
+            .andExpect(jsonPath("$[*].emails").doesNotExist());
+
+            verify(contactManagerService, once()).findAllSummariesByUserId(eq(Users.JOE.id()));
+            verify(contactManagerService, never()).findAllByUserId(anyString());
+        }
+    }
+
+    @Nested
+    @DisplayName("GetPage /api/contacts?limit")
+    public class GetPage {
+
+        @Test
+        @DisplayName("Should respond with a page of contacts and the cursor for the next page")
+        void shouldRespondWithAPageOfContactsAndTheCursorForTheNextPage() throws Exception {
+            when(contactManagerService.findPageByUserId(eq(Users.ROBERT.id()), eq(""), ArgumentMatchers.any(UUID.class), eq(3)))
+                .thenReturn(getContactsForRobert().subList(0, 3));
+
+            mockMvc.perform(get("/api/contacts")
+                .param("limit", "2")
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.ROBERT.jwt()))
+                .accept(MediaType.APPLICATION_JSON)
+            )
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+            .andExpect(jsonPath("$.contacts").value(hasSize(2)))
+            .andExpect(jsonPath("$.next").isNotEmpty());
+
+            verify(contactManagerService, once()).findPageByUserId(eq(Users.ROBERT.id()), eq(""), ArgumentMatchers.any(UUID.class), eq(3));
+        }
+
+        @Test
+        @DisplayName("When requesting for the last page then should respond without a cursor")
+        void whenRequestingForTheLastPage_thenShouldRespondWithoutACursor() throws Exception {
+            Contact lastContact = getContactsForRobert().get(0);
+            String cursor = ContactCursor.after(lastContact).encode();
+            when(contactManagerService.findPageByUserId(eq(Users.ROBERT.id()), eq(lastContact.getName()), eq(lastContact.getId()), eq(3)))
+                .thenReturn(getContactsForRobert().subList(1, 3));
+
+            mockMvc.perform(get("/api/contacts")
+                .param("limit", "2")
+                .param("after", cursor)
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.ROBERT.jwt()))
+                .accept(MediaType.APPLICATION_JSON)
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.contacts").value(hasSize(2)))
+            .andExpect(jsonPath("$.next").doesNotExist());
+
+            verify(contactManagerService, once())
+                .findPageByUserId(eq(Users.ROBERT.id()), eq(lastContact.getName()), eq(lastContact.getId()), eq(3));
+        }
+
+        @ParameterizedTest(name = "GET /api/contacts?limit={0} -> 400")
+        @ValueSource(strings = {"0", "-1", "101"})
+        @DisplayName("When requesting for a page with an out of range limit then should respond 400")
+        void whenRequestingForAPageWithAnOutOfRangeLimit_thenShouldRespond400(String limit) throws Exception {
+            mockMvc.perform(get("/api/contacts")
+                .param("limit", limit)
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.ROBERT.jwt()))
+                .accept(MediaType.ALL)
+            )
+            .andExpect(status().isBadRequest())
+            .andExpect(content().string("limit must be between 1 and 100"));
+
+            verifyNoInteractions(contactManagerService);
+        }
+    }
+
+    @Nested
+    @DisplayName("Query parameters of /api/contacts")
+    public class QueryParameters {
+
+        @ParameterizedTest(name = "GET /api/contacts?{0} -> 400")
+        @ValueSource(strings = {
+            "view=summary&limit=10", "fields=name&limit=10", "fields=name&view=summary",
+            "stream=true&limit=10", "stream=true&fields=name", "view=full", "stream=false"
+        })
+        @DisplayName("When combining views or asking for an unknown one then should respond 400")
+        void whenCombiningViewsOrAskingForAnUnknownOne_thenShouldRespond400(String query) throws Exception {
+            mockMvc.perform(get("/api/contacts?" + query)
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.ROBERT.jwt()))
+                .accept(MediaType.ALL)
+            )
+            .andExpect(status().isBadRequest())
+            .andExpect(content().string("Unsupported combination of query parameters"));
+
+            verifyNoInteractions(contactManagerService);
+        }
+    }
+
+    @Nested
+    @DisplayName("GetChanges /api/contacts/changes")
+    public class GetChanges {
+
+        @Test
+        @DisplayName("Should respond with the changes since the sync token and the next token")
+        void shouldRespondWithTheChangesSinceTheSyncTokenAndTheNextToken() throws Exception {
+            UUID deletedId = UUID.randomUUID();
+            when(contactManagerService.findChangesByUserId(eq(Users.JOE.id()), eq(12L)))
+                .thenReturn(new ContactChanges(getAFewContacts(2), List.of(deletedId), 15));
+
+            mockMvc.perform(get("/api/contacts/changes")
+                .param("since", "12")
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.JOE.jwt()))
+                .accept(MediaType.APPLICATION_JSON)
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.updated").value(hasSize(2)))
+            .andExpect(jsonPath("$.deleted[0]").value(deletedId.toString()))
+            .andExpect(jsonPath("$.token").value("15"));
+        }
+
+        @Test
+        @DisplayName("Without a sync token should ask for every change")
+        void withoutASyncToken_shouldAskForEveryChange() throws Exception {
+            when(contactManagerService.findChangesByUserId(eq(Users.JOE.id()), eq(ContactChanges.NO_TOKEN)))
+                .thenReturn(new ContactChanges(List.of(), List.of(), 0));
+
+            mockMvc.perform(get("/api/contacts/changes")
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.JOE.jwt()))
+                .accept(MediaType.APPLICATION_JSON)
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.token").value("0"));
+
+            verify(contactManagerService, once()).findChangesByUserId(eq(Users.JOE.id()), eq(ContactChanges.NO_TOKEN));
+        }
+
+        @ParameterizedTest(name = "since = {0} -> 400")
+        @ValueSource(strings = {"abc", "-1", "1.5"})
+        @DisplayName("When provided an invalid sync token then should respond 400")
+        void whenProvidedAnInvalidSyncToken_thenShouldRespond400(String since) throws Exception {
+            mockMvc.perform(get("/api/contacts/changes")
+                .param("since", since)
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.JOE.jwt()))
+                .accept(MediaType.ALL)
+            )
+            .andExpect(status().isBadRequest())
+            .andExpect(content().string("Invalid sync token"));
+
+            verifyNoInteractions(contactManagerService);
+        }
     }
 
     @Nested
@@ -218,6 +496,59 @@ public class ContactControllerUnitTest {
             verify(contactManagerService, once()).findByIdWithUser(eq(contactId), eq(userId));
         }
 
+        @Test
+        @DisplayName("Should write the JSON the service has for the contact with the ETag of its version")
+        void shouldWriteTheJsonTheServiceHasForTheContactWithTheETagOfItsVersion() throws Exception {
+            UUID contactId = UUID.fromString("5c21433c-3c70-4253-a4b2-52b157be4167");
+            when(contactManagerService.findJsonByIdWithUser(eq(contactId), eq(Users.JOE.id())))
+                .thenReturn(new ContactJson(3, "{\"name\":\"Cached\"}".getBytes(StandardCharsets.UTF_8)));
+
+            mockMvc.perform(get("/api/contacts/" + contactId)
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.JOE.jwt()))
+                .accept(MediaType.APPLICATION_JSON)
+            )
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+            .andExpect(header().string("ETag", "\"3\""))
+            .andExpect(content().string("{\"name\":\"Cached\"}"));
+
+            verify(contactManagerService, never()).findByIdWithUser(ArgumentMatchers.any(UUID.class), ArgumentMatchers.anyString());
+        }
+
+        @Test
+        @DisplayName("When the contact has not changed then should respond 304 without loading it")
+        void whenTheContactHasNotChanged_thenShouldRespond304WithoutLoadingIt() throws Exception {
+            UUID contactId = UUID.fromString("5c21433c-3c70-4253-a4b2-52b157be4167");
+            when(contactManagerService.findVersionByIdWithUser(eq(contactId), eq(Users.JOE.id()))).thenReturn(Optional.of(3L));
+
+            mockMvc.perform(get("/api/contacts/" + contactId)
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.JOE.jwt()))
+                .header("If-None-Match", "\"3\"")
+                .accept(MediaType.APPLICATION_JSON)
+            )
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+
+            verify(contactManagerService, never()).findByIdWithUser(ArgumentMatchers.any(UUID.class), ArgumentMatchers.anyString());
+        }
+
+        @Test
+        @DisplayName("When the contact has changed then should respond 200 with its current ETag")
+        void whenTheContactHasChanged_thenShouldRespond200WithItsCurrentETag() throws Exception {
+            UUID contactId = UUID.fromString("5c21433c-3c70-4253-a4b2-52b157be4167");
+            when(contactManagerService.findVersionByIdWithUser(eq(contactId), eq(Users.JOE.id()))).thenReturn(Optional.of(0L));
+            when(contactManagerService.findByIdWithUser(eq(contactId), eq(Users.JOE.id()))).thenReturn(getContactById(contactId));
+
+            mockMvc.perform(get("/api/contacts/" + contactId)
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.JOE.jwt()))
+                .header("If-None-Match", "\"3\"")
+                .accept(MediaType.APPLICATION_JSON)
+            )
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", "\"0\""))
+            .andExpect(jsonPath("$.name").value("Greg from accounting"));
+        }
+
         @Test
         @DisplayName("GET /api/contacts/4fe25947-ecab-489c-a881-e0057124e408 -> 400")
         void whenRequestingForAContactThatDoesNotBelongToAUser_thenShouldRespond400() throws Exception {
@@ -239,6 +570,149 @@ public class ContactControllerUnitTest {
         }
     }
 
+    @Nested
+    @DisplayName("CreateAll /api/contacts/batch")
+    public class CreateAll {
+
+        @Test
+        @DisplayName("Should create all of the contacts and respond with their ids")
+        void shouldCreateAllOfTheContactsAndRespondWithTheirIds() throws Exception {
+            List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID());
+            when(contactManagerService.saveAllWithUser(ArgumentMatchers.anyList(), eq(Users.JOE.id()), ArgumentMatchers.isNull())).thenReturn(ids);
+
+            mockMvc.perform(post("/api/contacts/batch")
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.JOE.jwt()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .content("[" + JSON_BODY + "," + JSON_BODY + "]")
+            )
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$[*].index").value(contains(0, 1)))
+            .andExpect(jsonPath("$[*].id").value(contains(ids.get(0).toString(), ids.get(1).toString())));
+
+            verify(contactManagerService, once()).saveAllWithUser(ArgumentMatchers.anyList(), eq(Users.JOE.id()), ArgumentMatchers.isNull());
+        }
+
+        @Test
+        @DisplayName("When an Idempotency-Key is sent then should pass it to the service with a fingerprint of the batch")
+        void whenAnIdempotencyKeyIsSent_thenShouldPassItToTheServiceWithAFingerprintOfTheBatch() throws Exception {
+            List<UUID> ids = List.of(UUID.randomUUID());
+            ArgumentCaptor<IdempotencyKey> idempotencyKeyCaptor = ArgumentCaptor.forClass(IdempotencyKey.class);
+            when(contactManagerService.saveAllWithUser(ArgumentMatchers.anyList(), eq(Users.JOE.id()), idempotencyKeyCaptor.capture()))
+                .thenReturn(ids);
+
+            for (int attempt = 0; attempt < 2; attempt++) {
+                mockMvc.perform(post("/api/contacts/batch")
+                    .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.JOE.jwt()))
+                    .header(IdempotencyKey.HEADER, "import-42")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .accept(MediaType.APPLICATION_JSON)
+                    .content("[" + JSON_BODY + "]")
+                )
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$[0].id").value(ids.get(0).toString()));
+            }
+
+            List<IdempotencyKey> idempotencyKeys = idempotencyKeyCaptor.getAllValues();
+            assertThat(idempotencyKeys).hasSize(2).allSatisfy(idempotencyKey -> assertThat(idempotencyKey.getKey()).isEqualTo("import-42"));
+            assertThat(idempotencyKeys.get(0).getFingerprint()).hasSize(64).isEqualTo(idempotencyKeys.get(1).getFingerprint());
+        }
+
+        @Test
+        @DisplayName("When the Idempotency-Key is too long then should respond 400 and create nothing")
+        void whenTheIdempotencyKeyIsTooLong_thenShouldRespond400AndCreateNothing() throws Exception {
+            mockMvc.perform(post("/api/contacts/batch")
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.JOE.jwt()))
+                .header(IdempotencyKey.HEADER, "k".repeat(256))
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.ALL)
+                .content("[" + JSON_BODY + "]")
+            )
+            .andExpect(status().isBadRequest())
+            .andExpect(content().string("Idempotency-Key must have between 1 and 255 characters"));
+
+            verifyNoInteractions(contactManagerService);
+        }
+
+        @Test
+        @DisplayName("When a contact in the batch is invalid then should respond 400 with its violations and create nothing")
+        void whenAContactInTheBatchIsInvalid_thenShouldRespond400WithItsViolationsAndCreateNothing() throws Exception {
+            mockMvc.perform(post("/api/contacts/batch")
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.JOE.jwt()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.ALL)
+                .content("[" + JSON_BODY + ", {\"name\": \"M\"}]")
+            )
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$").value(hasSize(1)))
+            .andExpect(jsonPath("$[0].index").value(1))
+            .andExpect(jsonPath("$[0].fieldViolations[*][*]").value(containsInAnyOrder(
+                "name is too short",
+                "phoneNumbers must not be missing"
+            )));
+
+            verifyNoInteractions(contactManagerService);
+        }
+
+        @Test
+        @DisplayName("When the batch is empty then should respond 400")
+        void whenTheBatchIsEmpty_thenShouldRespond400() throws Exception {
+            mockMvc.perform(post("/api/contacts/batch")
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.JOE.jwt()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.ALL)
+                .content("[]")
+            )
+            .andExpect(status().isBadRequest())
+            .andExpect(content().string("batch must have between 1 and 1000 contacts"));
+
+            verifyNoInteractions(contactManagerService);
+        }
+    }
+
+    @Nested
+    @DisplayName("GetAllByIds /api/contacts/batch-get")
+    public class GetAllByIds {
+
+        @Test
+        @DisplayName("Should respond with the contacts found in the requested order and the missing ids")
+        void shouldRespondWithTheContactsFoundInTheRequestedOrderAndTheMissingIds() throws Exception {
+            UUID fredId = UUID.fromString("4fe25947-ecab-489c-a881-e0057124e408");
+            UUID gregId = UUID.fromString("5c21433c-3c70-4253-a4b2-52b157be4167");
+            UUID missingId = UUID.randomUUID();
+            when(contactManagerService.findAllByIdsWithUser(ArgumentMatchers.anyCollection(), eq(Users.JOE.id())))
+                .thenReturn(List.of(getContactById(fredId), getContactById(gregId)));
+
+            mockMvc.perform(post("/api/contacts/batch-get")
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.JOE.jwt()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .content("[\"" + gregId + "\", \"" + missingId + "\", \"" + fredId + "\", \"" + gregId + "\"]")
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.contacts[*].name").value(contains("Greg from accounting", "Coworker Fred")))
+            .andExpect(jsonPath("$.missing[0]").value(missingId.toString()))
+            .andExpect(jsonPath("$.missing").value(hasSize(1)));
+
+            verify(contactManagerService, once()).findAllByIdsWithUser(eq(Set.of(gregId, missingId, fredId)), eq(Users.JOE.id()));
+        }
+
+        @Test
+        @DisplayName("When no ids are provided then should respond 400")
+        void whenNoIdsAreProvided_thenShouldRespond400() throws Exception {
+            mockMvc.perform(post("/api/contacts/batch-get")
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.JOE.jwt()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.ALL)
+                .content("[]")
+            )
+            .andExpect(status().isBadRequest())
+            .andExpect(content().string("batch must have between 1 and 1000 ids"));
+
+            verifyNoInteractions(contactManagerService);
+        }
+    }
+
     @Nested
     public class Create {
 
@@ -275,7 +749,7 @@ public class ContactControllerUnitTest {
         @DisplayName("Should create a new contact for a user successfully")
         void shouldCreateANewContactForAUserSuccessfully(Jwt jwt) throws Exception {
             String contactId = jwt.getClaimAsString("id");
-            doNothing().when(contactManagerService).saveWithUser(ArgumentMatchers.any(Contact.class), eq(contactId));
+            doNothing().when(contactManagerService).saveWithUser(ArgumentMatchers.any(Contact.class), eq(contactId), ArgumentMatchers.isNull());
 
             mockMvc.perform(post("/api/contacts")
                 .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(jwt))
@@ -285,14 +759,14 @@ public class ContactControllerUnitTest {
             )
             .andExpect(status().isCreated());
 
-            verify(contactManagerService).saveWithUser(ArgumentMatchers.any(Contact.class), eq(contactId));
+            verify(contactManagerService).saveWithUser(ArgumentMatchers.any(Contact.class), eq(contactId), ArgumentMatchers.isNull());
         }
 
         @Test
         @DisplayName("When saving a new contact for a non-exiting user then should respond 404")
         public void whenSavingANewContactForANonExistingUser_thenShouldRespond404() throws Exception {
            doThrow(new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"))
-               .when(contactManagerService).saveWithUser(ArgumentMatchers.any(Contact.class), eq(Users.JULIA.id()));
+               .when(contactManagerService).saveWithUser(ArgumentMatchers.any(Contact.class), eq(Users.JULIA.id()), ArgumentMatchers.isNull());
 
             mockMvc.perform(post("/api/contacts")
                 .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.JULIA.jwt()))
@@ -303,7 +777,7 @@ public class ContactControllerUnitTest {
             .andExpect(status().isNotFound())
             .andExpect(content().string("User not found"));
 
-            verify(contactManagerService, once()).saveWithUser(ArgumentMatchers.any(Contact.class), eq(Users.JULIA.id()));
+            verify(contactManagerService, once()).saveWithUser(ArgumentMatchers.any(Contact.class), eq(Users.JULIA.id()), ArgumentMatchers.isNull());
         }
 
         @ParameterizedTest(name = "jwt = {0} POST /api/contacts -> 400")
@@ -427,7 +901,7 @@ public class ContactControllerUnitTest {
         void shouldEntirelyUpdateAContactForAUserSuccessfully(Jwt jwt) throws Exception {
             String userId = jwt.getClaimAsString("id");
             doNothing().when(contactManagerService)
-                .updateWithUser(ArgumentMatchers.any(Contact.class), eq(userId));
+                .updateWithUser(ArgumentMatchers.any(Contact.class), ArgumentMatchers.isNull(), eq(userId));
 
             mockMvc.perform(put("/api/contacts/ff55ef9d-e912-4548-a790-50158470fafa")
                 .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(jwt))
@@ -437,7 +911,69 @@ public class ContactControllerUnitTest {
             )
             .andExpect(status().isOk());
 
-            verify(contactManagerService, once()).updateWithUser(ArgumentMatchers.any(Contact.class), eq(userId));
+            verify(contactManagerService, once()).updateWithUser(ArgumentMatchers.any(Contact.class), ArgumentMatchers.isNull(), eq(userId));
+        }
+
+        @Test
+        @DisplayName("When If-Match is sent then should update only that version of the contact")
+        void whenIfMatchIsSent_thenShouldUpdateOnlyThatVersionOfTheContact() throws Exception {
+            mockMvc.perform(put("/api/contacts/ff55ef9d-e912-4548-a790-50158470fafa")
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.JOE.jwt()))
+                .header("If-Match", "\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JSON_BODY)
+            )
+            .andExpect(status().isOk());
+
+            verify(contactManagerService, once()).updateWithUser(ArgumentMatchers.any(Contact.class), eq(Set.of(2L)), eq(Users.JOE.id()));
+        }
+
+        @ParameterizedTest(name = "If-Match: {0}")
+        @ValueSource(strings = {"\"3\", \"2\"", "W/\"5\", \"3\",\"2\"", "\"other\", \"3\" , \"2\""})
+        @DisplayName("When If-Match lists several ETags then should update any of their strong versions of the contact")
+        void whenIfMatchListsSeveralETags_thenShouldUpdateAnyOfTheirStrongVersionsOfTheContact(String ifMatch) throws Exception {
+            mockMvc.perform(put("/api/contacts/ff55ef9d-e912-4548-a790-50158470fafa")
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.JOE.jwt()))
+                .header("If-Match", ifMatch)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JSON_BODY)
+            )
+            .andExpect(status().isOk());
+
+            verify(contactManagerService, once()).updateWithUser(ArgumentMatchers.any(Contact.class), eq(Set.of(3L, 2L)), eq(Users.JOE.id()));
+        }
+
+        @ParameterizedTest(name = "If-Match: {0} -> 412")
+        @ValueSource(strings = {"W/\"2\"", "2", "\"two\"", "W/\"2\", \"two\""})
+        @DisplayName("When If-Match is not a strong ETag of a contact then should respond 412 without updating")
+        void whenIfMatchIsNotAStrongETagOfAContact_thenShouldRespond412WithoutUpdating(String ifMatch) throws Exception {
+            mockMvc.perform(put("/api/contacts/ff55ef9d-e912-4548-a790-50158470fafa")
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.JOE.jwt()))
+                .header("If-Match", ifMatch)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.ALL)
+                .content(JSON_BODY)
+            )
+            .andExpect(status().isPreconditionFailed())
+            .andExpect(content().string("Contact was modified by another request"));
+
+            verifyNoInteractions(contactManagerService);
+        }
+
+        @Test
+        @DisplayName("When the contact is modified concurrently then should respond 412")
+        void whenTheContactIsModifiedConcurrently_thenShouldRespond412() throws Exception {
+            doThrow(new ObjectOptimisticLockingFailureException(Contact.class, UUID.randomUUID()))
+                .when(contactManagerService).updateWithUser(ArgumentMatchers.any(Contact.class), ArgumentMatchers.isNull(), eq(Users.JOE.id()));
+
+            mockMvc.perform(put("/api/contacts/ff55ef9d-e912-4548-a790-50158470fafa")
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.JOE.jwt()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.ALL)
+                .content(JSON_BODY)
+            )
+            .andExpect(status().isPreconditionFailed())
+            .andExpect(content().string("Contact was modified by another request"));
         }
 
         @ParameterizedTest(name = "jwt = {0} PUT /api/contacts/ff55ef9d-e912-4548-a790-50158470faf  -> 200")
@@ -446,7 +982,7 @@ public class ContactControllerUnitTest {
         void whenProvidedJsonDataWithoutId_thenShouldUpdateSuccessfullyResponding200(Jwt jwt) throws Exception {
             String userId = jwt.getClaimAsString("id");
             doNothing().when(contactManagerService)
-                .updateWithUser(ArgumentMatchers.any(Contact.class), eq(userId));
+                .updateWithUser(ArgumentMatchers.any(Contact.class), ArgumentMatchers.isNull(), eq(userId));
 
             mockMvc.perform(put("/api/contacts/ff55ef9d-e912-4548-a790-50158470fafa")
                 .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(jwt))
@@ -456,7 +992,7 @@ public class ContactControllerUnitTest {
             )
             .andExpect(status().isOk());
 
-            verify(contactManagerService, once()).updateWithUser(ArgumentMatchers.any(Contact.class), eq(userId));
+            verify(contactManagerService, once()).updateWithUser(ArgumentMatchers.any(Contact.class), ArgumentMatchers.isNull(), eq(userId));
         }
 
         @ParameterizedTest(name = "jwt = {0} PUT /api/contacts/ff55ef9d-e912-4548-a790-50158470fafa -> 400")
@@ -483,7 +1019,7 @@ public class ContactControllerUnitTest {
         void whenUpdatingAContactThatDoesNotBelongToTheUser_thenShouldRespond400() throws Exception {
             final String errorMessage = "Contact belongs to another user";
             doThrow(new ResponseStatusException(HttpStatus.BAD_REQUEST, errorMessage))
-                .when(contactManagerService).updateWithUser(ArgumentMatchers.any(Contact.class), eq(Users.JOE.id()));
+                .when(contactManagerService).updateWithUser(ArgumentMatchers.any(Contact.class), ArgumentMatchers.isNull(), eq(Users.JOE.id()));
 
             mockMvc.perform(put("/api/contacts/ff55ef9d-e912-4548-a790-50158470fafa")
                 .accept(MediaType.ALL)
@@ -495,7 +1031,7 @@ public class ContactControllerUnitTest {
             .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_PLAIN))
             .andExpect(content().string(errorMessage));
 
-            verify(contactManagerService, once()).updateWithUser(ArgumentMatchers.any(Contact.class), eq(Users.JOE.id()));
+            verify(contactManagerService, once()).updateWithUser(ArgumentMatchers.any(Contact.class), ArgumentMatchers.isNull(), eq(Users.JOE.id()));
         }
 
         @ParameterizedTest(name = "jwt = {0} PUT /api/contacts/ff55ef9d-e912-4548-a790-50158470fafa -> 404")
@@ -505,7 +1041,7 @@ public class ContactControllerUnitTest {
             final String errorMessage = "Contact not found";
             final String userId = jwt.getClaimAsString("id");
             doThrow(new ResponseStatusException(HttpStatus.NOT_FOUND, errorMessage))
-                .when(contactManagerService).updateWithUser(ArgumentMatchers.any(Contact.class), eq(userId));
+                .when(contactManagerService).updateWithUser(ArgumentMatchers.any(Contact.class), ArgumentMatchers.isNull(), eq(userId));
 
             mockMvc.perform(put("/api/contacts/ff55ef9d-e912-4548-a790-50158470fafa")
                 .accept(MediaType.ALL)
@@ -516,7 +1052,7 @@ public class ContactControllerUnitTest {
             .andExpect(status().isNotFound())
             .andExpect(content().string(errorMessage));
 
-            verify(contactManagerService, once()).updateWithUser(ArgumentMatchers.any(Contact.class), eq(userId));
+            verify(contactManagerService, once()).updateWithUser(ArgumentMatchers.any(Contact.class), ArgumentMatchers.isNull(), eq(userId));
         }
 
         @Test
@@ -552,6 +1088,155 @@ public class ContactControllerUnitTest {
         }
     }
 
+    @Nested
+    @DisplayName("Patch /api/contacts/{id}")
+    public class Patch {
+
+        private final UUID fredId = UUID.fromString("4fe25947-ecab-489c-a881-e0057124e408");
+
+        private Contact storedContact() {
+            Contact contact = new Contact("Coworker Fred", fredId);
+            contact.setCompany("Tech Solutions Ltd.");
+            contact.setRole("Software Engineer");
+            contact.putPhoneNumber("home", "+525465365876");
+            contact.putPhoneNumber("mobile", "+815642058516");
+            contact.putPhoneNumber("office", "+3591040949549");
+            contact.putEmail("main", "yuki.fred@gmail.com");
+            return contact;
+        }
+
+        private AtomicReference<ContactData> patchStoredContact() throws BindException {
+            AtomicReference<ContactData> patchedContactData = new AtomicReference<>();
+            doAnswer(invocation -> {
+                ContactManagerService.ContactPatch patch = invocation.getArgument(3);
+                patchedContactData.set(patch.apply(storedContact().toContactDta()));
+                return null;
+            }).when(contactManagerService).patchWithUser(eq(fredId), ArgumentMatchers.any(), eq(Users.JOE.id()), ArgumentMatchers.any());
+            return patchedContactData;
+        }
+
+        @Test
+        @DisplayName("Should merge the patch into the stored contact, removing what is set to null")
+        void shouldMergeThePatchIntoTheStoredContactRemovingWhatIsSetToNull() throws Exception {
+            AtomicReference<ContactData> patchedContactData = patchStoredContact();
+
+            mockMvc.perform(patch("/api/contacts/" + fredId)
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.JOE.jwt()))
+                .contentType("application/merge-patch+json")
+                .content("""
+                    {"name": "Fred", "company": null, "phoneNumbers": {"office": null, "work": "+15551112222"}}
+                    """)
+            )
+            .andExpect(status().isOk());
+
+            verify(contactManagerService, once()).patchWithUser(eq(fredId), ArgumentMatchers.isNull(), eq(Users.JOE.id()), ArgumentMatchers.any());
+            ContactData patchedContact = patchedContactData.get();
+            assertThat(patchedContact.getName()).isEqualTo("Fred");
+            assertThat(patchedContact.getCompany()).isNull();
+            assertThat(patchedContact.getRole()).isEqualTo("Software Engineer");
+            assertThat(patchedContact.getPhoneNumbers()).containsOnlyKeys("home", "mobile", "work");
+            assertThat(patchedContact.getEmails()).containsExactly(Map.entry("main", "yuki.fred@gmail.com"));
+        }
+
+        @Test
+        @DisplayName("When If-Match does not match the stored version then should respond 412")
+        void whenIfMatchDoesNotMatchTheStoredVersion_thenShouldRespond412() throws Exception {
+            doThrow(new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Contact was modified by another request"))
+                .when(contactManagerService).patchWithUser(eq(fredId), eq(Set.of(4L)), eq(Users.JOE.id()), ArgumentMatchers.any());
+
+            mockMvc.perform(patch("/api/contacts/" + fredId)
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.JOE.jwt()))
+                .header("If-Match", "\"4\"")
+                .contentType("application/merge-patch+json")
+                .accept(MediaType.ALL)
+                .content("{\"name\": \"Fred\"}")
+            )
+            .andExpect(status().isPreconditionFailed())
+            .andExpect(content().string("Contact was modified by another request"));
+        }
+
+        @Test
+        @DisplayName("When the patched contact is invalid then should respond 400 with field violations")
+        void whenThePatchedContactIsInvalid_thenShouldRespond400WithFieldViolations() throws Exception {
+            AtomicReference<ContactData> patchedContactData = patchStoredContact();
+
+            mockMvc.perform(patch("/api/contacts/" + fredId)
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.JOE.jwt()))
+                .contentType("application/merge-patch+json")
+                .accept(MediaType.ALL)
+                .content("{\"name\": \"F\", \"phoneNumbers\": null}")
+            )
+            .andExpect(status().isBadRequest())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+            .andExpect(jsonPath("$.fieldViolations.*[*]").value(containsInAnyOrder(
+                "name is too short",
+                "phoneNumbers must not be missing"
+            )));
+
+            assertThat(patchedContactData.get()).isNull();
+        }
+
+        @Test
+        @DisplayName("When the patch is not a JSON object then should respond 400")
+        void whenThePatchIsNotAJsonObject_thenShouldRespond400() throws Exception {
+            mockMvc.perform(patch("/api/contacts/" + fredId)
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.JOE.jwt()))
+                .contentType("application/merge-patch+json")
+                .accept(MediaType.ALL)
+                .content("[]")
+            )
+            .andExpect(status().isBadRequest())
+            .andExpect(content().string("merge patch must be a JSON object"));
+
+            verifyNoInteractions(contactManagerService);
+        }
+    }
+
+    @Nested
+    @DisplayName("DeleteAllByIds /api/contacts/bulk-delete")
+    public class DeleteAllByIds {
+
+        @Test
+        @DisplayName("Should respond with the deleted ids and the missing ones")
+        void shouldRespondWithTheDeletedIdsAndTheMissingOnes() throws Exception {
+            UUID deletedId = UUID.randomUUID();
+            UUID missingId = UUID.randomUUID();
+            when(contactManagerService.deleteAllByIdsWithUser(ArgumentMatchers.anyCollection(), eq(Users.JOE.id())))
+                .thenReturn(List.of(deletedId));
+
+            mockMvc.perform(post("/api/contacts/bulk-delete")
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.JOE.jwt()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .content("[\"" + missingId + "\", \"" + deletedId + "\", \"" + missingId + "\"]")
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.deleted[0]").value(deletedId.toString()))
+            .andExpect(jsonPath("$.deleted").value(hasSize(1)))
+            .andExpect(jsonPath("$.missing[0]").value(missingId.toString()))
+            .andExpect(jsonPath("$.missing").value(hasSize(1)));
+
+            verify(contactManagerService, once()).deleteAllByIdsWithUser(eq(Set.of(missingId, deletedId)), eq(Users.JOE.id()));
+        }
+
+        @Test
+        @DisplayName("When too many ids are provided then should respond 400")
+        void whenTooManyIdsAreProvided_thenShouldRespond400() throws Exception {
+            String ids = String.join(",", Collections.nCopies(1001, "\"" + UUID.randomUUID() + "\""));
+
+            mockMvc.perform(post("/api/contacts/bulk-delete")
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.JOE.jwt()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.ALL)
+                .content("[" + ids + "]")
+            )
+            .andExpect(status().isBadRequest())
+            .andExpect(content().string("batch must have between 1 and 1000 ids"));
+
+            verifyNoInteractions(contactManagerService);
+        }
+    }
+
     @Nested
     public class Delete {
 
@@ -566,7 +1251,7 @@ public class ContactControllerUnitTest {
         @DisplayName("When provided a contactId then should delete a contact successfully")
         void whenProvidedAContactId_thenShouldDeleteAContactSuccessfully(Jwt jwt, UUID contactId) throws Exception {
             String userId = jwt.getClaimAsString("id");
-            doNothing().when(contactManagerService).deleteByIdWithUser(eq(contactId), eq(userId));
+            doNothing().when(contactManagerService).deleteByIdWithUser(eq(contactId), ArgumentMatchers.isNull(), eq(userId));
 
             mockMvc.perform(delete("/api/contacts/"+contactId)
                 .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(jwt))
@@ -574,7 +1259,22 @@ public class ContactControllerUnitTest {
             )
             .andExpect(status().isOk());
 
-            verify(contactManagerService, once()).deleteByIdWithUser(eq(contactId), eq(userId));
+            verify(contactManagerService, once()).deleteByIdWithUser(eq(contactId), ArgumentMatchers.isNull(), eq(userId));
+        }
+
+        @Test
+        @DisplayName("When If-Match is sent then should delete only that version of the contact")
+        void whenIfMatchIsSent_thenShouldDeleteOnlyThatVersionOfTheContact() throws Exception {
+            UUID contactId = UUID.fromString("5c21433c-3c70-4253-a4b2-52b157be4167");
+
+            mockMvc.perform(delete("/api/contacts/" + contactId)
+                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(Users.JOE.jwt()))
+                .header("If-Match", "\"7\"")
+                .accept(MediaType.ALL)
+            )
+            .andExpect(status().isOk());
+
+            verify(contactManagerService, once()).deleteByIdWithUser(eq(contactId), eq(Set.of(7L)), eq(Users.JOE.id()));
         }
 
         @ParameterizedTest(name = "jwt = {0} DELETE /api/contacts/{1} -> 404")
@@ -583,7 +1283,7 @@ public class ContactControllerUnitTest {
         void whenProvidedANonExistingContactId_thenRespond404(Jwt jwt, UUID contactId) throws Exception {
             String userId = jwt.getClaimAsString("id");
             doThrow(new ResponseStatusException(HttpStatus.NOT_FOUND, "Contact not found"))
-                .when(contactManagerService).deleteByIdWithUser(eq(contactId), eq(userId));
+                .when(contactManagerService).deleteByIdWithUser(eq(contactId), ArgumentMatchers.isNull(), eq(userId));
 
             mockMvc.perform(delete("/api/contacts/"+contactId)
                 .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(jwt))
@@ -593,7 +1293,7 @@ public class ContactControllerUnitTest {
             .andExpect(content().contentType(MediaType.TEXT_PLAIN))
             .andExpect(content().string("Contact not found"));
 
-            verify(contactManagerService, once()).deleteByIdWithUser(eq(contactId), eq(userId));
+            verify(contactManagerService, once()).deleteByIdWithUser(eq(contactId), ArgumentMatchers.isNull(), eq(userId));
         }
 
         @ParameterizedTest(name = "jwt = {0} DELETE /api/contacts/{1} -> 400")
@@ -602,7 +1302,7 @@ public class ContactControllerUnitTest {
         public void whenDeletingAContactThatDoesNotBelongToAUser_thenShouldRespond400(Jwt jwt, UUID contactId) throws Exception {
             String userId = jwt.getClaimAsString("id");
             doThrow(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Contact belongs to another user"))
-                .when(contactManagerService).deleteByIdWithUser(eq(contactId), eq(userId));
+                .when(contactManagerService).deleteByIdWithUser(eq(contactId), ArgumentMatchers.isNull(), eq(userId));
 
             mockMvc.perform(delete("/api/contacts/"+contactId)
                 .accept(MediaType.ALL)
@@ -612,7 +1312,7 @@ public class ContactControllerUnitTest {
             .andExpect(content().contentType(MediaType.TEXT_PLAIN))
             .andExpect(content().string("Contact belongs to another user"));
 
-            verify(contactManagerService, once()).deleteByIdWithUser(eq(contactId), eq(userId));
+            verify(contactManagerService, once()).deleteByIdWithUser(eq(contactId), ArgumentMatchers.isNull(), eq(userId));
         }
 
         @Test
@@ -620,7 +1320,7 @@ public class ContactControllerUnitTest {
         void whenDeletingAContactThatDoesNotExist_thenShouldRespond404() throws Exception {
             final UUID contactId = UUID.fromString("35b175ba-0a27-43e9-bc3f-cf23e1ca2ea7");
             doThrow(new ResponseStatusException(HttpStatus.NOT_FOUND, "Contact not found"))
-                .when(contactManagerService).deleteByIdWithUser(eq(contactId), eq(Users.JOE.id()));
+                .when(contactManagerService).deleteByIdWithUser(eq(contactId), ArgumentMatchers.isNull(), eq(Users.JOE.id()));
 
             mockMvc.perform(delete("/api/contacts/"+contactId)
                 .accept(MediaType.ALL)
@@ -630,7 +1330,7 @@ public class ContactControllerUnitTest {
             .andExpect(content().contentType(MediaType.TEXT_PLAIN))
             .andExpect(content().string("Contact not found"));
 
-            verify(contactManagerService, once()).deleteByIdWithUser(eq(contactId), eq(Users.JOE.id()));
+            verify(contactManagerService, once()).deleteByIdWithUser(eq(contactId), ArgumentMatchers.isNull(), eq(Users.JOE.id()));
         }
     }
 }
\ No newline at end of file
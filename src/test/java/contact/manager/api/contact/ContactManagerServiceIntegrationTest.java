@@ -1,7 +1,16 @@
 package contact.manager.api.contact;
 
+import contact.manager.api.user.KnownUserCache;
 import contact.manager.api.user.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.OptimisticLockException;
 import org.assertj.core.api.Assertions;
+import org.hibernate.LazyInitializationException;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -10,15 +19,31 @@ import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.catchThrowable;
@@ -37,6 +62,24 @@ public class ContactManagerServiceIntegrationTest {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private ContactCache contactCache;
+
+    @Autowired
+    private KnownUserCache knownUserCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     @Nested
     public class FindAll {
 
@@ -76,6 +119,395 @@ public class ContactManagerServiceIntegrationTest {
 
             assertResponseStatusException(throwable, "User not found", HttpStatus.NOT_FOUND);
         }
+
+        @Test
+        @DisplayName("Should load the collections of many contacts with a few batched queries and no duplicated rows")
+        void shouldLoadTheCollectionsOfManyContactsWithAFewBatchedQueriesAndNoDuplicatedRows() {
+            final int numberOfContacts = 250;
+            for (int i = 0; i < numberOfContacts; i++) {
+                final Contact contact = new Contact("Seeded contact " + i);
+                for (int j = 0; j < 5; j++) {
+                    contact.putPhoneNumber("phone" + j, "+1555000" + j + i);
+                    contact.putEmail("email" + j, "seeded" + i + "." + j + "@mail.com");
+                    contact.putAddress("address" + j, Address.builder()
+                        .country("US")
+                        .street(j + " Main Street")
+                        .city("Springfield")
+                        .state("Illinois")
+                        .zipcode("6270" + j)
+                        .build()
+                    );
+                }
+                contactManagerServiceUnderTest.saveWithUser(contact, Users.JOE.id());
+            }
+            entityManager.flush();
+            entityManager.clear();
+
+            final Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+            statistics.setStatisticsEnabled(true);
+            final List<Contact> listOfContacts;
+            try {
+                listOfContacts = contactManagerServiceUnderTest.findAllByUserId(Users.JOE.id());
+            }
+            finally {
+                statistics.setStatisticsEnabled(false);
+            }
+
+            final int totalOfContacts = numberOfContacts + 3;
+            Assertions.assertThat(listOfContacts).hasSize(totalOfContacts);
+            Assertions.assertThat(listOfContacts).extracting(Contact::getPhoneNumberMap).flatMap(Map::values).hasSize(numberOfContacts * 5 + 5);
+            Assertions.assertThat(listOfContacts).extracting(Contact::getEmailMap).flatMap(Map::values).hasSize(numberOfContacts * 5 + 3);
+            Assertions.assertThat(listOfContacts).extracting(Contact::getAddressMap).flatMap(Map::values).hasSize(numberOfContacts * 5 + 4);
+
+            final long batchesPerCollection = (totalOfContacts + 99) / 100;
+            assertThat(statistics.getPrepareStatementCount()).isBetween(1 + 3 * batchesPerCollection, 2 + 3 * batchesPerCollection);
+            assertThat(statistics.getEntityLoadCount()).isEqualTo(totalOfContacts);
+            assertThat(statistics.getCollectionLoadCount()).isEqualTo(totalOfContacts * 3L);
+        }
+
+        @Test
+        @DisplayName("Should serve repeated reads from the cache until a contact of the user is updated")
+        void shouldServeRepeatedReadsFromTheCacheUntilAContactOfTheUserIsUpdated() {
+            contactManagerServiceUnderTest.findAllByUserId(Users.ROBERT.id());
+            entityManager.clear();
+            final long hits = contactCache.getHitCount();
+            final Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+            statistics.setStatisticsEnabled(true);
+            final List<Contact> cachedContacts;
+            try {
+                cachedContacts = contactManagerServiceUnderTest.findAllByUserId(Users.ROBERT.id());
+            }
+            finally {
+                statistics.setStatisticsEnabled(false);
+            }
+
+            assertThat(contactCache.getHitCount()).isEqualTo(hits + 1);
+            assertThat(meterRegistry.get("cache.gets").tag("cache", "contacts").tag("result", "hit").functionCounter().count())
+                .isEqualTo(hits + 1);
+            assertThat(statistics.getEntityLoadCount()).isZero();
+            assertThat(statistics.getCollectionLoadCount()).isZero();
+            assertThat(cachedContacts).extracting(Contact::getName)
+                .containsExactly("Best friend Julia", "Mom", "Pizza and burgers", "Uncle Jeff");
+
+            final Contact mom = makeCopy(cachedContacts.get(1));
+            mom.setCompany("Family");
+            contactManagerServiceUnderTest.updateWithUser(mom, Users.ROBERT.id());
+            entityManager.flush();
+
+            assertThat(contactManagerServiceUnderTest.findAllByUserId(Users.ROBERT.id()))
+                .filteredOn(contact -> contact.getId().equals(mom.getId()))
+                .singleElement()
+                .extracting(Contact::getCompany)
+                .isEqualTo("Family");
+        }
+    }
+
+    @Nested
+    public class ForEachByUserId {
+
+        @Test
+        @DisplayName("Should hand over every contact of a user with its collections loaded")
+        void shouldHandOverEveryContactOfAUserWithItsCollectionsLoaded() {
+            final List<ContactData> handedOver = new ArrayList<>();
+
+            contactManagerServiceUnderTest.forEachByUserId(Users.ROBERT.id(), contact -> handedOver.add(contact.toContactDta()));
+
+            Assertions.assertThat(handedOver).extracting(ContactData::getName)
+                .containsExactly("Best friend Julia", "Mom", "Pizza and burgers", "Uncle Jeff");
+            Assertions.assertThat(handedOver).extracting(ContactData::getEmails).flatExtracting(Map::keySet).hasSize(7);
+            Assertions.assertThat(handedOver).extracting(ContactData::getPhoneNumbers).flatExtracting(Map::keySet).hasSize(7);
+            Assertions.assertThat(handedOver).extracting(ContactData::getAddresses).flatExtracting(Map::keySet).hasSize(7);
+        }
+
+        @Test
+        @DisplayName("Should hand over contacts across several chunks without keeping them managed")
+        void shouldHandOverContactsAcrossSeveralChunksWithoutKeepingThemManaged() {
+            for (int i = 0; i < 150; i++) {
+                final Contact contact = new Contact("Streamed contact " + i);
+                contact.putPhoneNumber("home", "+1555000" + i);
+                contactManagerServiceUnderTest.saveWithUser(contact, Users.JOE.id());
+            }
+            entityManager.flush();
+            entityManager.clear();
+            final List<Contact> handedOver = new ArrayList<>();
+
+            contactManagerServiceUnderTest.forEachByUserId(Users.JOE.id(), handedOver::add);
+
+            Assertions.assertThat(handedOver).hasSize(153);
+            Assertions.assertThat(handedOver).extracting(Contact::getPhoneNumberMap).flatMap(Map::values).hasSize(155);
+            Assertions.assertThat(handedOver).noneMatch(entityManager::contains);
+        }
+
+        @Test
+        @DisplayName("When provided an invalid userId then should throw an exception")
+        void whenProvidedAnInvalidUserId_thenShouldThrowAnException() {
+            final Throwable throwable = catchThrowable(() -> contactManagerServiceUnderTest.forEachByUserId(Users.JULIA.id(), contact -> {}));
+
+            assertResponseStatusException(throwable, "User not found", HttpStatus.NOT_FOUND);
+        }
+    }
+
+    @Nested
+    public class CopyCsvByUserId {
+
+        private static final UUID UNCLE_JEFF_ID = UUID.fromString("b621650d-4a81-4016-a917-4a8a4992aaef");
+
+        // the rows are inserted behind the cache, which must not keep them once the test is rolled back
+        @AfterEach
+        void evictRowsInsertedBehindTheCache() {
+            contactCache.invalidateUser(Users.ROBERT.id());
+        }
+
+        @Test
+        @DisplayName("Should copy the same CSV as the streamed writer without putting the marks in the statement")
+        void shouldCopyTheSameCsvAsTheStreamedWriterWithoutPuttingTheMarksInTheStatement() throws IOException {
+            entityManager.createNativeQuery("insert into phone_numbers (mark, phone_number, contact_id) values (:mark, '+15550001111', :id)")
+                .setParameter("mark", "x'), (\"y\", z")
+                .setParameter("id", UNCLE_JEFF_ID)
+                .executeUpdate();
+            contactCache.invalidateUser(Users.ROBERT.id());
+            final StringWriter expected = new StringWriter();
+            final CsvContactWriter csvContactWriter = new CsvContactWriter(
+                expected,
+                contactRepository.findPhoneNumberMarksByUserId(Users.ROBERT.id()),
+                contactRepository.findEmailMarksByUserId(Users.ROBERT.id()),
+                contactRepository.findAddressMarksByUserId(Users.ROBERT.id())
+            );
+            csvContactWriter.writeHeader();
+            for (final Contact contact : contactManagerServiceUnderTest.findAllByUserId(Users.ROBERT.id()))
+                csvContactWriter.write(contact);
+            final ByteArrayOutputStream csv = new ByteArrayOutputStream();
+
+            contactManagerServiceUnderTest.copyCsvByUserId(Users.ROBERT.id(), csv);
+
+            assertThat(csv.toString(StandardCharsets.UTF_8)).isEqualTo(expected.toString());
+            assertThat(csv.toString(StandardCharsets.UTF_8)).contains("\"phoneNumbers.x'), (\"\"y\"\", z\"");
+        }
+
+        @Test
+        @DisplayName("When the marks need more columns than one statement can select then should write the contacts row by row")
+        void whenTheMarksNeedMoreColumnsThanOneStatementCanSelect_thenShouldWriteTheContactsRowByRow() throws IOException {
+            entityManager.createNativeQuery("insert into phone_numbers (mark, phone_number, contact_id) " +
+                    "select 'mark ' || i, '+1555' || i, :id from generate_series(1, :count) i")
+                .setParameter("id", UNCLE_JEFF_ID)
+                .setParameter("count", ContactCsvCopyQuery.MAX_COLUMNS)
+                .executeUpdate();
+            contactCache.invalidateUser(Users.ROBERT.id());
+            final ByteArrayOutputStream csv = new ByteArrayOutputStream();
+
+            contactManagerServiceUnderTest.copyCsvByUserId(Users.ROBERT.id(), csv);
+
+            final CsvContactReader csvContactReader = CsvContactReader.open(new StringReader(csv.toString(StandardCharsets.UTF_8)));
+            final List<ContactData> exported = new ArrayList<>();
+            for (ContactData contactData = csvContactReader.read(); contactData != null; contactData = csvContactReader.read())
+                exported.add(contactData);
+            Assertions.assertThat(exported)
+                .usingRecursiveFieldByFieldElementComparatorIgnoringFields("id", "addedOn")
+                .containsExactlyElementsOf(Contact.toListOfContactData(contactManagerServiceUnderTest.findAllByUserId(Users.ROBERT.id())));
+            Assertions.assertThat(exported.get(3).getPhoneNumbers()).hasSizeGreaterThan(ContactCsvCopyQuery.MAX_COLUMNS);
+        }
+    }
+
+    @Nested
+    public class FindAllByIdsWithUser {
+
+        @Test
+        @DisplayName("Should return only the requested contacts owned by the user with a single query for the contacts")
+        void shouldReturnOnlyTheRequestedContactsOwnedByTheUserWithASingleQueryForTheContacts() {
+            final List<UUID> ids = List.of(
+                UUID.fromString("4fe25947-ecab-489c-a881-e0057124e408"),
+                UUID.fromString("5c21433c-3c70-4253-a4b2-52b157be4167"),
+                UUID.fromString("7f23057f-77bd-4568-ac64-e933abae9a09"),
+                UUID.fromString("bc27c837-d7ec-4d5f-890f-c92277799fa5")
+            );
+            final Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+            statistics.setStatisticsEnabled(true);
+            final List<Contact> contacts;
+            try {
+                contacts = contactManagerServiceUnderTest.findAllByIdsWithUser(ids, Users.JOE.id());
+            }
+            finally {
+                statistics.setStatisticsEnabled(false);
+            }
+
+            Assertions.assertThat(contacts)
+                .extracting(Contact::getName)
+                .containsExactlyInAnyOrder("Coworker Fred", "Greg from accounting");
+            assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(1 + 1 + 3);
+        }
+
+        @Test
+        @DisplayName("When provided a non-existing user then should throw an exception")
+        void whenProvidedANonExistingUser_thenShouldThrowAnException() {
+            final Throwable throwable = catchThrowable(() ->
+                contactManagerServiceUnderTest.findAllByIdsWithUser(List.of(UUID.randomUUID()), Users.JULIA.id())
+            );
+
+            assertResponseStatusException(throwable, "User not found", HttpStatus.NOT_FOUND);
+        }
+    }
+
+    @Nested
+    public class FindChangesByUserId {
+
+        @Autowired
+        private ContactTombstoneStore contactTombstoneStore;
+
+        @Test
+        @DisplayName("Without a sync token should return every contact of the user and the current token")
+        void withoutASyncToken_shouldReturnEveryContactOfTheUserAndTheCurrentToken() {
+            final ContactChanges changes = contactManagerServiceUnderTest.findChangesByUserId(Users.JOE.id(), ContactChanges.NO_TOKEN);
+
+            Assertions.assertThat(changes.getUpdated())
+                .extracting(ContactData::getName)
+                .containsExactly("Coworker Fred", "Greg from accounting", "Sister Monica");
+            Assertions.assertThat(changes.getDeleted()).isEmpty();
+            assertThat(changes.getToken())
+                .isEqualTo(Long.toString(contactManagerServiceUnderTest.findListVersionByUserId(Users.JOE.id())));
+        }
+
+        @Test
+        @DisplayName("Should return only the contacts created, updated or deleted since the sync token")
+        void shouldReturnOnlyTheContactsCreatedUpdatedOrDeletedSinceTheSyncToken() {
+            final Contact syncedContact = new Contact("Neighbour Tom");
+            syncedContact.putPhoneNumber("home", "+15550001111");
+            contactManagerServiceUnderTest.saveWithUser(syncedContact, Users.JOE.id());
+            final long since = ContactChanges.parseToken(
+                contactManagerServiceUnderTest.findChangesByUserId(Users.JOE.id(), ContactChanges.NO_TOKEN).getToken()
+            );
+            final UUID updatedId = UUID.fromString("5c21433c-3c70-4253-a4b2-52b157be4167");
+            final UUID deletedId = UUID.fromString("4fe25947-ecab-489c-a881-e0057124e408");
+            final Contact newContact = new Contact("Cousin Ann");
+            newContact.putPhoneNumber("home", "+15550003333");
+            contactManagerServiceUnderTest.saveWithUser(newContact, Users.JOE.id());
+            contactManagerServiceUnderTest.updateWithUser(Contact.toContact(ContactData.builder()
+                .name("Greg from payroll")
+                .addresses(Collections.emptyMap())
+                .emails(Collections.emptyMap())
+                .phoneNumbers(Map.of("home", "+15550002222"))
+                .build(), updatedId), Users.JOE.id());
+            contactManagerServiceUnderTest.deleteByIdWithUser(deletedId, Users.JOE.id());
+            contactManagerServiceUnderTest.deleteByIdWithUser(
+                UUID.fromString("7f23057f-77bd-4568-ac64-e933abae9a09"), Users.ROBERT.id()
+            );
+            entityManager.flush();
+            entityManager.clear();
+
+            final ContactChanges changes = contactManagerServiceUnderTest.findChangesByUserId(Users.JOE.id(), since);
+
+            Assertions.assertThat(changes.getUpdated())
+                .extracting(ContactData::getName)
+                .containsExactly("Cousin Ann", "Greg from payroll");
+            Assertions.assertThat(changes.getDeleted()).containsExactly(deletedId);
+            assertThat(ContactChanges.parseToken(changes.getToken())).isEqualTo(since + 3);
+        }
+
+        @Test
+        @DisplayName("When the sync token is older than the purged tombstones then should throw ResponseStatusException GONE")
+        void whenTheSyncTokenIsOlderThanThePurgedTombstones_thenShouldThrowAnException() {
+            final long since = contactManagerServiceUnderTest.findListVersionByUserId(Users.JOE.id());
+            final UUID purgedId = UUID.fromString("4fe25947-ecab-489c-a881-e0057124e408");
+            final UUID retainedId = UUID.fromString("5c21433c-3c70-4253-a4b2-52b157be4167");
+            contactManagerServiceUnderTest.deleteByIdWithUser(purgedId, Users.JOE.id());
+            contactManagerServiceUnderTest.deleteByIdWithUser(retainedId, Users.JOE.id());
+            contactManagerServiceUnderTest.deleteByIdWithUser(
+                UUID.fromString("7f23057f-77bd-4568-ac64-e933abae9a09"), Users.ROBERT.id()
+            );
+            entityManager.createNativeQuery("update contact_tombstones set deleted_at = deleted_at - interval '31 days' where contact_id = :id")
+                .setParameter("id", purgedId)
+                .executeUpdate();
+
+            contactTombstoneStore.purgeExpired();
+
+            final Throwable throwable = catchThrowable(() -> contactManagerServiceUnderTest.findChangesByUserId(Users.JOE.id(), since));
+            assertResponseStatusException(throwable, "Sync token expired, sync again without it", HttpStatus.GONE);
+            Assertions.assertThat(contactManagerServiceUnderTest.findChangesByUserId(Users.JOE.id(), since + 1).getDeleted())
+                .containsExactly(retainedId);
+            Assertions.assertThat(contactManagerServiceUnderTest.findChangesByUserId(Users.ROBERT.id(), 0).getDeleted())
+                .hasSize(1);
+        }
+
+        @Test
+        @DisplayName("When nothing changed since the sync token then should return no changes")
+        void whenNothingChangedSinceTheSyncToken_thenShouldReturnNoChanges() {
+            final String token = contactManagerServiceUnderTest.findChangesByUserId(Users.ROBERT.id(), ContactChanges.NO_TOKEN).getToken();
+
+            final ContactChanges changes = contactManagerServiceUnderTest.findChangesByUserId(Users.ROBERT.id(), ContactChanges.parseToken(token));
+
+            Assertions.assertThat(changes.getUpdated()).isEmpty();
+            Assertions.assertThat(changes.getDeleted()).isEmpty();
+            assertThat(changes.getToken()).isEqualTo(token);
+        }
+
+        @Test
+        @DisplayName("When provided a non-existing user then should throw an exception")
+        void whenProvidedANonExistingUser_thenShouldThrowAnException() {
+            final Throwable throwable = catchThrowable(() -> contactManagerServiceUnderTest.findChangesByUserId(Users.JULIA.id(), ContactChanges.NO_TOKEN));
+
+            assertResponseStatusException(throwable, "User not found", HttpStatus.NOT_FOUND);
+        }
+    }
+
+    @Nested
+    public class FindAllSummariesByUserId {
+
+        @Test
+        @DisplayName("Should return the summaries of all of the contacts of a user with their primary phone number")
+        void shouldReturnTheSummariesOfAllOfTheContactsOfAUserWithTheirPrimaryPhoneNumber() {
+            final List<ContactSummary> summaries = contactManagerServiceUnderTest.findAllSummariesByUserId(Users.ROBERT.id());
+
+            Assertions.assertThat(summaries).extracting(ContactSummary::getName)
+                .containsExactly("Best friend Julia", "Mom", "Pizza and burgers", "Uncle Jeff");
+            Assertions.assertThat(summaries).extracting(ContactSummary::getPhoneNumber)
+                .containsExactly("+31716883562", "+659167889156", "+817886064615", "+398094640706");
+            Assertions.assertThat(summaries).extracting(ContactSummary::getCompany)
+                .containsExactly("Social Media Co.", "Family Co.", "Pizza and Burgers Inc.", "Quality Goods Ltd.");
+            Assertions.assertThat(summaries).extracting(ContactSummary::getId).doesNotContainNull();
+        }
+
+        @Test
+        @DisplayName("When provided an invalid userId then should throw an exception")
+        void whenProvidedAnInvalidUserId_thenShouldThrowAnException() {
+            final Throwable throwable = catchThrowable(() -> contactManagerServiceUnderTest.findAllSummariesByUserId(Users.JULIA.id()));
+
+            assertResponseStatusException(throwable, "User not found", HttpStatus.NOT_FOUND);
+        }
+    }
+
+    @Nested
+    public class FindPageByUserId {
+
+        @Test
+        @DisplayName("Should walk through all of the contacts of a user page by page")
+        void shouldWalkThroughAllOfTheContactsOfAUserPageByPage() {
+            final ContactCursor first = ContactCursor.first();
+            final List<Contact> firstPage =
+                contactManagerServiceUnderTest.findPageByUserId(Users.ROBERT.id(), first.getName(), first.getId(), 2);
+
+            Assertions.assertThat(firstPage).extracting(Contact::getName).containsExactly("Best friend Julia", "Mom");
+            Assertions.assertThat(firstPage).extracting(Contact::getPhoneNumberMap).flatExtracting(Map::keySet).hasSize(4);
+
+            final ContactCursor next = ContactCursor.decode(ContactCursor.after(firstPage.get(1)).encode());
+            final List<Contact> secondPage =
+                contactManagerServiceUnderTest.findPageByUserId(Users.ROBERT.id(), next.getName(), next.getId(), 2);
+
+            Assertions.assertThat(secondPage).extracting(Contact::getName).containsExactly("Pizza and burgers", "Uncle Jeff");
+        }
+
+        @Test
+        @DisplayName("When provided an invalid userId then should throw an exception")
+        void whenProvidedAnInvalidUserId_thenShouldThrowAnException() {
+            final ContactCursor first = ContactCursor.first();
+
+            final Throwable throwable = catchThrowable(() ->
+                contactManagerServiceUnderTest.findPageByUserId(Users.JULIA.id(), first.getName(), first.getId(), 2)
+            );
+
+            assertResponseStatusException(throwable, "User not found", HttpStatus.NOT_FOUND);
+        }
     }
 
     @Nested
@@ -108,6 +540,65 @@ public class ContactManagerServiceIntegrationTest {
             });
         }
 
+        @Test
+        @DisplayName("Should serve repeated reads from the cache until the contact is deleted")
+        void shouldServeRepeatedReadsFromTheCacheUntilTheContactIsDeleted() {
+            final UUID gregFromAccountingContactId = UUID.fromString("5c21433c-3c70-4253-a4b2-52b157be4167");
+            contactManagerServiceUnderTest.findByIdWithUser(gregFromAccountingContactId, Users.JOE.id());
+            entityManager.clear();
+            final Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+            statistics.setStatisticsEnabled(true);
+            final Contact contact;
+            try {
+                contact = contactManagerServiceUnderTest.findByIdWithUser(gregFromAccountingContactId, Users.JOE.id());
+            }
+            finally {
+                statistics.setStatisticsEnabled(false);
+            }
+
+            assertThat(statistics.getPrepareStatementCount()).isZero();
+            assertThat(contact.getName()).isEqualTo("Greg from accounting");
+            assertThat(contact.getAddressMap()).containsOnlyKeys("home", "work");
+
+            contactManagerServiceUnderTest.deleteByIdWithUser(gregFromAccountingContactId, Users.JOE.id());
+
+            assertResponseStatusException(
+                catchThrowable(() -> contactManagerServiceUnderTest.findByIdWithUser(gregFromAccountingContactId, Users.JOE.id())),
+                "Contact not found",
+                HttpStatus.NOT_FOUND
+            );
+        }
+
+        @Test
+        @DisplayName("When provided fields then should load only the requested collections")
+        void whenProvidedFields_thenShouldLoadOnlyTheRequestedCollections() {
+            final UUID gregFromAccountingContactId = UUID.fromString("5c21433c-3c70-4253-a4b2-52b157be4167");
+            entityManager.clear();
+
+            final Contact contact = contactManagerServiceUnderTest.findByIdWithUser(
+                gregFromAccountingContactId, Users.JOE.id(), EnumSet.of(ContactField.NAME, ContactField.EMAILS)
+            );
+            entityManager.detach(contact);
+
+            assertThat(contact.getName()).isEqualTo("Greg from accounting");
+            assertThat(contact.getEmailMap()).containsOnly(Map.entry("main", "sailor.greg99@hotmail.co.jp"));
+            assertThat(catchThrowable(() -> contact.getPhoneNumberMap().size())).isInstanceOf(LazyInitializationException.class);
+            assertThat(catchThrowable(() -> contact.getAddressMap().size())).isInstanceOf(LazyInitializationException.class);
+        }
+
+        @Test
+        @DisplayName("When provided fields for a contact that does not belong to a user then should throw an exception")
+        void whenProvidedFieldsForAContactThatDoesNotBelongToAUser_thenShouldThrowAnException() {
+            final UUID contactId = UUID.fromString("84edd1b9-89a5-4107-a84d-435676c2b8f5");
+
+            final Throwable throwable = catchThrowable(() ->
+                contactManagerServiceUnderTest.findByIdWithUser(contactId, Users.JOE.id(), EnumSet.of(ContactField.NAME))
+            );
+
+            assertResponseStatusException(throwable, "Contact belongs to another user", HttpStatus.BAD_REQUEST);
+        }
+
         @Test
         @DisplayName("When a contact is not found then should throw an exception Contact not found")
         void whenAContactIsNotFound_thenShouldThrowAnException() {
@@ -150,6 +641,7 @@ public class ContactManagerServiceIntegrationTest {
 
             contactManagerServiceUnderTest.saveWithUser(newContact, Users.ROBERT.id());
 
+            assertThat(newContact.getId().version()).isEqualTo(7);
             final List<Contact> listOfContacts = contactRepository.findAll();
             Assertions.assertThat(listOfContacts).hasSize(8);
             Assertions.assertThat(listOfContacts).extracting(Contact::getPhoneNumberMap).flatMap(Map::values).hasSize(13);
@@ -202,6 +694,248 @@ public class ContactManagerServiceIntegrationTest {
         }
     }
 
+    @Nested
+    public class SaveAllWithUser {
+
+        @Test
+        @DisplayName("Should save many contacts with batched inserts")
+        void shouldSaveManyContactsWithBatchedInserts() {
+            final List<Contact> newContacts = new ArrayList<>();
+            for (int i = 0; i < 60; i++) {
+                final Contact contact = new Contact("Imported contact " + i);
+                contact.putPhoneNumber("home", "+1555000" + i);
+                contact.putEmail("main", "imported" + i + "@mail.com");
+                contact.putAddress("home", Address.builder()
+                    .country("US")
+                    .street(i + " Main Street")
+                    .city("Springfield")
+                    .state("Illinois")
+                    .zipcode("62701")
+                    .build()
+                );
+                newContacts.add(contact);
+            }
+            final Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+            statistics.setStatisticsEnabled(true);
+            final List<UUID> ids;
+            try {
+                ids = contactManagerServiceUnderTest.saveAllWithUser(newContacts, Users.ROBERT.id());
+                entityManager.flush();
+            }
+            finally {
+                statistics.setStatisticsEnabled(false);
+            }
+
+            Assertions.assertThat(ids).hasSize(60).doesNotContainNull().doesNotHaveDuplicates();
+            assertThat(statistics.getEntityInsertCount()).isEqualTo(60);
+            assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(1 + 4 * 3);
+            Assertions.assertThat(contactManagerServiceUnderTest.findAllByUserId(Users.ROBERT.id())).hasSize(64);
+        }
+
+        @Test
+        @DisplayName("When saving many contacts for a non-existing user then should throw an exception")
+        void whenSavingManyContactsForANonExistingUser_thenShouldThrowAnException() {
+            final Throwable throwable = catchThrowable(() ->
+                contactManagerServiceUnderTest.saveAllWithUser(List.of(new Contact("Lonely")), Users.JULIA.id())
+            );
+
+            assertResponseStatusException(throwable, "User not found", HttpStatus.NOT_FOUND);
+        }
+    }
+
+    @Nested
+    public class SaveWithIdempotencyKey {
+
+        @Autowired
+        private ContactIdempotencyStore contactIdempotencyStore;
+
+        private IdempotencyKey idempotencyKey(final String key, final String requestBody) {
+            return IdempotencyKey.of(key, requestBody.getBytes());
+        }
+
+        @Test
+        @DisplayName("When retrying with the same Idempotency-Key then should return the first ids without creating duplicates")
+        void whenRetryingWithTheSameIdempotencyKey_thenShouldReturnTheFirstIdsWithoutCreatingDuplicates() {
+            final List<UUID> firstIds = contactManagerServiceUnderTest.saveAllWithUser(
+                List.of(new Contact("Retried"), new Contact("Retried too")), Users.ROBERT.id(), idempotencyKey("import-1", "batch")
+            );
+            final long listVersion = userService.findContactsVersionById(Users.ROBERT.id());
+
+            final List<UUID> retriedIds = contactManagerServiceUnderTest.saveAllWithUser(
+                List.of(new Contact("Retried"), new Contact("Retried too")), Users.ROBERT.id(), idempotencyKey("import-1", "batch")
+            );
+            contactManagerServiceUnderTest.saveWithUser(new Contact("Retried"), Users.ROBERT.id(), idempotencyKey("create-1", "single"));
+            contactManagerServiceUnderTest.saveWithUser(new Contact("Retried"), Users.ROBERT.id(), idempotencyKey("create-1", "single"));
+
+            Assertions.assertThat(retriedIds).hasSize(2).isEqualTo(firstIds);
+            Assertions.assertThat(contactManagerServiceUnderTest.findAllByUserId(Users.ROBERT.id())).hasSize(4 + 3);
+            assertThat(userService.findContactsVersionById(Users.ROBERT.id())).isEqualTo(listVersion + 1);
+        }
+
+        @Test
+        @DisplayName("When the user was deleted while still cached as known then should forget it and throw ResponseStatusException NOT FOUND")
+        void whenTheUserWasDeletedWhileStillCachedAsKnown_thenShouldForgetItAndThrowAnException() {
+            knownUserCache.add(Users.ROBERT.id());
+            entityManager.createNativeQuery("delete from users where user_id = :id")
+                .setParameter("id", Users.ROBERT.id())
+                .executeUpdate();
+
+            final Throwable throwable = catchThrowable(() ->
+                contactManagerServiceUnderTest.saveWithUser(new Contact("Orphan"), Users.ROBERT.id(), idempotencyKey("create-3", "single"))
+            );
+
+            assertResponseStatusException(throwable, "User not found", HttpStatus.NOT_FOUND);
+            assertThat(knownUserCache.contains(Users.ROBERT.id())).isFalse();
+        }
+
+        @Test
+        @DisplayName("When reusing an Idempotency-Key for a different request then should throw ResponseStatusException UNPROCESSABLE ENTITY")
+        void whenReusingAnIdempotencyKeyForADifferentRequest_thenShouldThrowAnException() {
+            contactManagerServiceUnderTest.saveAllWithUser(List.of(new Contact("First")), Users.ROBERT.id(), idempotencyKey("import-2", "first"));
+
+            final Throwable throwable = catchThrowable(() -> contactManagerServiceUnderTest.saveAllWithUser(
+                List.of(new Contact("Second")), Users.ROBERT.id(), idempotencyKey("import-2", "second")
+            ));
+
+            assertResponseStatusException(throwable, "Idempotency-Key was already used for a different request", HttpStatus.UNPROCESSABLE_ENTITY);
+            Assertions.assertThat(contactManagerServiceUnderTest.findAllByUserId(Users.ROBERT.id())).hasSize(5);
+        }
+
+        @Test
+        @DisplayName("Should scope Idempotency-Keys to the user who sent them")
+        void shouldScopeIdempotencyKeysToTheUserWhoSentThem() {
+            final List<UUID> robertIds = contactManagerServiceUnderTest.saveAllWithUser(
+                List.of(new Contact("Shared key")), Users.ROBERT.id(), idempotencyKey("import-3", "batch")
+            );
+            final List<UUID> joeIds = contactManagerServiceUnderTest.saveAllWithUser(
+                List.of(new Contact("Shared key")), Users.JOE.id(), idempotencyKey("import-3", "batch")
+            );
+
+            Assertions.assertThat(joeIds).hasSize(1).doesNotContainAnyElementsOf(robertIds);
+        }
+
+        @Test
+        @DisplayName("Should forget expired Idempotency-Keys")
+        void shouldForgetExpiredIdempotencyKeys() {
+            contactManagerServiceUnderTest.saveAllWithUser(List.of(new Contact("Old")), Users.ROBERT.id(), idempotencyKey("import-4", "old"));
+            contactManagerServiceUnderTest.saveAllWithUser(List.of(new Contact("Old")), Users.JOE.id(), idempotencyKey("import-4", "old"));
+            entityManager.createNativeQuery("update idempotency_keys set created_at = created_at - interval '2 days' where user_id = :userId")
+                .setParameter("userId", Users.ROBERT.id())
+                .executeUpdate();
+
+            contactManagerServiceUnderTest.saveAllWithUser(List.of(new Contact("New")), Users.ROBERT.id(), idempotencyKey("import-4", "new"));
+            entityManager.createNativeQuery("update idempotency_keys set created_at = created_at - interval '2 days'").executeUpdate();
+            contactIdempotencyStore.purgeExpired();
+
+            Assertions.assertThat(contactManagerServiceUnderTest.findAllByUserId(Users.ROBERT.id())).hasSize(6);
+            assertThat(entityManager.createNativeQuery("select count(*) from idempotency_keys where idempotency_key = 'import-4'").getSingleResult()).isEqualTo(0L);
+        }
+    }
+
+    @Nested
+    public class PatchWithUser {
+
+        private final UUID fredId = UUID.fromString("4fe25947-ecab-489c-a881-e0057124e408");
+
+        private ContactManagerService.ContactPatch phoneNumbers(final Map<String, String> phoneNumbers) {
+            return storedContact -> ContactData.builder()
+                .name(storedContact.getName())
+                .birthday(storedContact.getBirthday())
+                .company(storedContact.getCompany())
+                .role(storedContact.getRole())
+                .phoneNumbers(phoneNumbers)
+                .emails(storedContact.getEmails())
+                .addresses(storedContact.getAddresses())
+                .build();
+        }
+
+        @Test
+        @DisplayName("Should read the contact once and only write the fields and entries that changed")
+        void shouldReadTheContactOnceAndOnlyWriteTheFieldsAndEntriesThatChanged() throws Exception {
+            final Map<String, String> phoneNumberRows = rowLocations("phone_numbers", fredId);
+            final Map<String, String> addressRows = rowLocations("addresses", fredId);
+            final Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+            statistics.setStatisticsEnabled(true);
+            try {
+                contactManagerServiceUnderTest.patchWithUser(fredId, Set.of(0L), Users.JOE.id(), phoneNumbers(Map.of(
+                    "home", "+525465365876",
+                    "mobile", "+15550004444",
+                    "office", "+3591040949549"
+                )));
+                entityManager.flush();
+            }
+            finally {
+                statistics.setStatisticsEnabled(false);
+            }
+
+            assertThat(statistics.getCollectionRecreateCount()).isZero();
+            assertThat(statistics.getCollectionRemoveCount()).isZero();
+            assertThat(statistics.getCollectionUpdateCount()).isEqualTo(1);
+            assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(1 + 3 + 1 + 1 + 1);
+            assertThat(rowLocations("phone_numbers", fredId)).hasSize(3)
+                .containsEntry("home", phoneNumberRows.get("home"))
+                .containsEntry("office", phoneNumberRows.get("office"))
+                .doesNotContainEntry("mobile", phoneNumberRows.get("mobile"));
+            assertThat(rowLocations("addresses", fredId)).isEqualTo(addressRows);
+            entityManager.clear();
+            final Contact contactFromDatabase = contactManagerServiceUnderTest.findByIdWithUser(fredId, Users.JOE.id());
+            assertThat(contactFromDatabase.getPhoneNumberMap()).containsEntry("mobile", "+15550004444").hasSize(3);
+            assertThat(contactFromDatabase.getVersion()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("When nothing changed then should not write anything")
+        void whenNothingChanged_thenShouldNotWriteAnything() throws Exception {
+            final long listVersion = contactManagerServiceUnderTest.findListVersionByUserId(Users.JOE.id());
+            final Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+            statistics.setStatisticsEnabled(true);
+            try {
+                contactManagerServiceUnderTest.patchWithUser(fredId, null, Users.JOE.id(), phoneNumbers(Map.of(
+                    "home", "+525465365876",
+                    "mobile", "+815642058516",
+                    "office", "+3591040949549"
+                )));
+                entityManager.flush();
+            }
+            finally {
+                statistics.setStatisticsEnabled(false);
+            }
+
+            assertThat(statistics.getEntityUpdateCount()).isZero();
+            assertThat(statistics.getCollectionUpdateCount()).isZero();
+            assertThat(contactManagerServiceUnderTest.findListVersionByUserId(Users.JOE.id())).isEqualTo(listVersion);
+        }
+
+        @Test
+        @DisplayName("When the contact was modified since it was read then should throw an exception without patching it")
+        void whenTheContactWasModifiedSinceItWasRead_thenShouldThrowAnExceptionWithoutPatchingIt() {
+            final Throwable throwable = catchThrowable(() ->
+                contactManagerServiceUnderTest.patchWithUser(fredId, Set.of(3L), Users.JOE.id(), storedContact -> {
+                    throw new IllegalStateException("patched a stale contact");
+                })
+            );
+
+            assertResponseStatusException(throwable, "Contact was modified by another request", HttpStatus.PRECONDITION_FAILED);
+        }
+
+        @Test
+        @DisplayName("When the contact is modified after being read then the version checked update should fail")
+        void whenTheContactIsModifiedAfterBeingRead_thenTheVersionCheckedUpdateShouldFail() throws Exception {
+            contactManagerServiceUnderTest.patchWithUser(fredId, Set.of(0L), Users.JOE.id(), storedContact -> {
+                entityManager.createNativeQuery("update contacts set version = version + 1 where contact_id = :id")
+                    .setParameter("id", fredId)
+                    .executeUpdate();
+                return phoneNumbers(Map.of("home", "+15550004444")).apply(storedContact);
+            });
+            final Throwable throwable = catchThrowable(() -> entityManager.flush());
+
+            assertThat(throwable).isInstanceOf(OptimisticLockException.class);
+        }
+    }
+
     @Nested
     public class UpdateWithUser {
 
@@ -229,6 +963,127 @@ public class ContactManagerServiceIntegrationTest {
             assertThat(contact.getName()).isEqualTo(contactNewName);
         }
 
+        @Test
+        @DisplayName("Should bump the version of the contact and of the list of its user")
+        void shouldBumpTheVersionOfTheContactAndOfTheListOfItsUser() {
+            final UUID contactId = getContactsForJoe().get(0).getId();
+            final long listVersion = contactManagerServiceUnderTest.findListVersionByUserId(Users.JOE.id());
+            final long contactVersion = contactManagerServiceUnderTest.findVersionByIdWithUser(contactId, Users.JOE.id()).orElseThrow();
+            final Contact contact = Contact.toContact(ContactData.builder()
+                .id(contactId)
+                .name("Alex")
+                .addresses(Collections.emptyMap())
+                .emails(Collections.emptyMap())
+                .phoneNumbers(Collections.emptyMap())
+                .build()
+            );
+
+            contactManagerServiceUnderTest.updateWithUser(contact, Users.JOE.id());
+            entityManager.flush();
+
+            assertThat(contactManagerServiceUnderTest.findVersionByIdWithUser(contactId, Users.JOE.id())).contains(contactVersion + 1);
+            assertThat(contactManagerServiceUnderTest.findListVersionByUserId(Users.JOE.id())).isEqualTo(listVersion + 1);
+            assertThat(contactManagerServiceUnderTest.findListVersionByUserId(Users.ROBERT.id())).isEqualTo(0);
+        }
+
+        @Test
+        @DisplayName("When replacing a stale version of a contact then should throw ResponseStatusException PRECONDITION FAILED")
+        void whenReplacingAStaleVersionOfAContact_thenShouldThrowAnException() {
+            final UUID contactId = UUID.fromString("4fe25947-ecab-489c-a881-e0057124e408");
+            final Contact contact = makeCopy(contactManagerServiceUnderTest.findByIdWithUser(contactId, Users.JOE.id()));
+            contact.setCompany("Stale Company");
+            entityManager.clear();
+
+            final Throwable throwable = catchThrowable(() -> contactManagerServiceUnderTest.updateWithUser(contact, Set.of(2L), Users.JOE.id()));
+            entityManager.flush();
+
+            assertResponseStatusException(throwable, "Contact was modified by another request", HttpStatus.PRECONDITION_FAILED);
+            assertThat(contactManagerServiceUnderTest.findVersionByIdWithUser(contactId, Users.JOE.id())).contains(0L);
+        }
+
+        @Test
+        @DisplayName("When one of the expected versions is the stored one then should replace the contact")
+        void whenOneOfTheExpectedVersionsIsTheStoredOne_thenShouldReplaceTheContact() {
+            final UUID contactId = UUID.fromString("4fe25947-ecab-489c-a881-e0057124e408");
+            final Contact contact = makeCopy(contactManagerServiceUnderTest.findByIdWithUser(contactId, Users.JOE.id()));
+            contact.setCompany("Listed Company");
+            entityManager.clear();
+
+            contactManagerServiceUnderTest.updateWithUser(contact, Set.of(3L, 0L), Users.JOE.id());
+            entityManager.flush();
+            entityManager.clear();
+
+            assertThat(contactManagerServiceUnderTest.findByIdWithUser(contactId, Users.JOE.id()).getCompany()).isEqualTo("Listed Company");
+            assertThat(contactManagerServiceUnderTest.findVersionByIdWithUser(contactId, Users.JOE.id())).contains(1L);
+        }
+
+        @Test
+        @DisplayName("When the contact is modified after being read then the version checked update should fail")
+        void whenTheContactIsModifiedAfterBeingRead_thenTheVersionCheckedUpdateShouldFail() {
+            final UUID contactId = UUID.fromString("4fe25947-ecab-489c-a881-e0057124e408");
+            final Contact contact = makeCopy(contactManagerServiceUnderTest.findByIdWithUser(contactId, Users.JOE.id()));
+            contact.setCompany("Lost Update Inc.");
+            entityManager.clear();
+            entityManager.find(Contact.class, contactId);
+            entityManager.createNativeQuery("update contacts set version = version + 1 where contact_id = :id")
+                .setParameter("id", contactId)
+                .executeUpdate();
+
+            contactManagerServiceUnderTest.updateWithUser(contact, Set.of(0L), Users.JOE.id());
+            final Throwable throwable = catchThrowable(() -> entityManager.flush());
+
+            assertThat(throwable).isInstanceOf(OptimisticLockException.class);
+        }
+
+        @Test
+        @DisplayName("Should only write the entries that changed when replacing a contact")
+        void shouldOnlyWriteTheEntriesThatChangedWhenReplacingAContact() {
+            final UUID contactId = UUID.fromString("4fe25947-ecab-489c-a881-e0057124e408");
+            final Contact storedContact = makeCopy(contactManagerServiceUnderTest.findByIdWithUser(contactId, Users.JOE.id()));
+            for (int i = 0; i < 20; i++)
+                storedContact.putAddress("address" + i, Address.builder()
+                    .country("US")
+                    .street(i + " Main Street")
+                    .city("Springfield")
+                    .state("Illinois")
+                    .zipcode("62701")
+                    .build()
+                );
+            contactManagerServiceUnderTest.updateWithUser(storedContact, Users.JOE.id());
+            entityManager.flush();
+            entityManager.clear();
+            final Contact contact = makeCopy(contactManagerServiceUnderTest.findByIdWithUser(contactId, Users.JOE.id()));
+            contact.setBirthday(LocalDate.of(1985, 8, 20));
+            contact.setCompany("Tech Solutions Ltd.");
+            contact.setRole("Software Engineer");
+            contact.putPhoneNumber("mobile", "+15550004444");
+            entityManager.clear();
+            final Map<String, String> phoneNumberRows = rowLocations("phone_numbers", contactId);
+            final Map<String, String> addressRows = rowLocations("addresses", contactId);
+            final Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+            statistics.setStatisticsEnabled(true);
+            try {
+                contactManagerServiceUnderTest.updateWithUser(contact, Users.JOE.id());
+                entityManager.flush();
+            }
+            finally {
+                statistics.setStatisticsEnabled(false);
+            }
+
+            assertThat(statistics.getCollectionRecreateCount()).isZero();
+            assertThat(statistics.getCollectionRemoveCount()).isZero();
+            assertThat(statistics.getEntityUpdateCount()).isEqualTo(1);
+            assertThat(rowLocations("phone_numbers", contactId))
+                .containsEntry("home", phoneNumberRows.get("home"))
+                .doesNotContainEntry("mobile", phoneNumberRows.get("mobile"));
+            assertThat(rowLocations("addresses", contactId)).isEqualTo(addressRows);
+            entityManager.clear();
+            final Contact contactFromDatabase = contactManagerServiceUnderTest.findByIdWithUser(contactId, Users.JOE.id());
+            assertThat(contactFromDatabase.getPhoneNumberMap()).containsEntry("mobile", "+15550004444");
+            assertThat(contactFromDatabase.getAddressMap()).hasSize(21);
+        }
+
         @Test
         @DisplayName("When provided a non-existing contact to update then should throw an exception")
         void whenProvidedANonExistingContactToUpdate_thenShouldThrowAnException() {
@@ -295,6 +1150,71 @@ public class ContactManagerServiceIntegrationTest {
             assertThat(actualContacts).filteredOn(it -> it.getUser().getUsername().equals("joe")).hasSize(2);
         }
 
+        @Test
+        @DisplayName("Should delete a contact along with its collections with a single delete statement")
+        void shouldDeleteAContactAlongWithItsCollectionsWithASingleDeleteStatement() {
+            final UUID targetUuid = UUID.fromString("4fe25947-ecab-489c-a881-e0057124e408");
+            final long since = contactManagerServiceUnderTest.findListVersionByUserId(Users.JOE.id());
+            final Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+            statistics.setStatisticsEnabled(true);
+            try {
+                contactManagerServiceUnderTest.deleteByIdWithUser(targetUuid, Users.JOE.id());
+            }
+            finally {
+                statistics.setStatisticsEnabled(false);
+            }
+
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+            assertThat(contactManagerServiceUnderTest.findChangesByUserId(Users.JOE.id(), since).getDeleted()).containsExactly(targetUuid);
+            final Number phoneNumbersLeft = (Number) entityManager
+                .createNativeQuery("select count(*) from phone_numbers where contact_id = :id")
+                .setParameter("id", targetUuid)
+                .getSingleResult();
+            assertThat(phoneNumbersLeft.intValue()).isZero();
+        }
+
+        @Test
+        @DisplayName("When deleting the expected version of a contact then should delete it with a single conditional statement")
+        void whenDeletingTheExpectedVersionOfAContact_thenShouldDeleteItWithASingleConditionalStatement() {
+            final UUID targetUuid = UUID.fromString("4fe25947-ecab-489c-a881-e0057124e408");
+            final Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+            statistics.setStatisticsEnabled(true);
+            try {
+                contactManagerServiceUnderTest.deleteByIdWithUser(targetUuid, Set.of(2L, 0L), Users.JOE.id());
+            }
+            finally {
+                statistics.setStatisticsEnabled(false);
+            }
+
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+            assertThat(contactManagerServiceUnderTest.findVersionByIdWithUser(targetUuid, Users.JOE.id())).isEmpty();
+        }
+
+        @Test
+        @DisplayName("When deleting a stale version of a contact then should throw ResponseStatusException PRECONDITION FAILED")
+        void whenDeletingAStaleVersionOfAContact_thenShouldThrowAnException() {
+            final UUID targetUuid = UUID.fromString("4fe25947-ecab-489c-a881-e0057124e408");
+            final long listVersion = contactManagerServiceUnderTest.findListVersionByUserId(Users.JOE.id());
+
+            final Throwable throwable = catchThrowable(() -> contactManagerServiceUnderTest.deleteByIdWithUser(targetUuid, Set.of(1L), Users.JOE.id()));
+
+            assertResponseStatusException(throwable, "Contact was modified by another request", HttpStatus.PRECONDITION_FAILED);
+            assertThat(contactManagerServiceUnderTest.findVersionByIdWithUser(targetUuid, Users.JOE.id())).contains(0L);
+            assertThat(contactManagerServiceUnderTest.findListVersionByUserId(Users.JOE.id())).isEqualTo(listVersion);
+        }
+
+        @Test
+        @DisplayName("When deleting a given version of a contact owned by another user then should throw an exception")
+        void whenDeletingAGivenVersionOfAContactOwnedByAnotherUser_thenShouldThrowAnException() {
+            final UUID targetUUID = UUID.fromString("35b175ba-0a27-43e9-bc3f-cf23e1ca2ea7");
+
+            final Throwable throwable = catchThrowable(() -> contactManagerServiceUnderTest.deleteByIdWithUser(targetUUID, Set.of(0L), Users.ROBERT.id()));
+
+            assertResponseStatusException(throwable, "Contact belongs to another user", HttpStatus.BAD_REQUEST);
+        }
+
         @Test
         @DisplayName("When provided a non-existing contactId then should throw an exception")
         void whenProvidedANonExistingContactId_thenShouldThrowAnException() {
@@ -316,6 +1236,55 @@ public class ContactManagerServiceIntegrationTest {
         }
     }
 
+    @Nested
+    public class DeleteAllByIdsWithUser {
+
+        @Test
+        @DisplayName("Should delete only the requested contacts of the user in a single statement")
+        void shouldDeleteOnlyTheRequestedContactsOfTheUserInASingleStatement() {
+            final UUID fredId = UUID.fromString("4fe25947-ecab-489c-a881-e0057124e408");
+            final UUID gregId = UUID.fromString("5c21433c-3c70-4253-a4b2-52b157be4167");
+            final UUID robertsContactId = UUID.fromString("7f23057f-77bd-4568-ac64-e933abae9a09");
+            final long since = contactManagerServiceUnderTest.findListVersionByUserId(Users.JOE.id());
+            final Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+            statistics.setStatisticsEnabled(true);
+            final List<UUID> deletedIds;
+            try {
+                deletedIds = contactManagerServiceUnderTest.deleteAllByIdsWithUser(
+                    List.of(fredId, gregId, robertsContactId, UUID.randomUUID()), Users.JOE.id()
+                );
+            }
+            finally {
+                statistics.setStatisticsEnabled(false);
+            }
+
+            Assertions.assertThat(deletedIds).containsExactlyInAnyOrder(fredId, gregId);
+            assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(1 + 1);
+            Assertions.assertThat(contactManagerServiceUnderTest.findAllByUserId(Users.JOE.id()))
+                .extracting(Contact::getName)
+                .containsExactly("Sister Monica");
+            Assertions.assertThat(contactManagerServiceUnderTest.findAllByUserId(Users.ROBERT.id())).hasSize(4);
+            final ContactChanges changes = contactManagerServiceUnderTest.findChangesByUserId(Users.JOE.id(), since);
+            Assertions.assertThat(changes.getDeleted()).containsExactlyInAnyOrder(fredId, gregId);
+            assertThat(changes.getToken()).isEqualTo(Long.toString(since + 1));
+        }
+
+        @Test
+        @DisplayName("When none of the contacts belong to the user then should not bump the list version")
+        void whenNoneOfTheContactsBelongToTheUser_thenShouldNotBumpTheListVersion() {
+            final long listVersion = contactManagerServiceUnderTest.findListVersionByUserId(Users.JOE.id());
+
+            final List<UUID> deletedIds = contactManagerServiceUnderTest.deleteAllByIdsWithUser(
+                List.of(UUID.fromString("7f23057f-77bd-4568-ac64-e933abae9a09")), Users.JOE.id()
+            );
+
+            Assertions.assertThat(deletedIds).isEmpty();
+            assertThat(contactManagerServiceUnderTest.findListVersionByUserId(Users.JOE.id())).isEqualTo(listVersion);
+            Assertions.assertThat(contactManagerServiceUnderTest.findAllByUserId(Users.ROBERT.id())).hasSize(4);
+        }
+    }
+
     @Nested
     public class DeleteAllContacts {
 
@@ -328,6 +1297,150 @@ public class ContactManagerServiceIntegrationTest {
 
             Assertions.assertThat(listOfContacts).hasSize(0);
         }
+
+        @Test
+        @DisplayName("Should delete all contacts with set-based statements without loading them")
+        void shouldDeleteAllContactsWithSetBasedStatementsWithoutLoadingThem() {
+            final long since = contactManagerServiceUnderTest.findListVersionByUserId(Users.ROBERT.id());
+            final Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+            statistics.setStatisticsEnabled(true);
+            try {
+                contactManagerServiceUnderTest.deleteAll();
+            }
+            finally {
+                statistics.setStatisticsEnabled(false);
+            }
+
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+            assertThat(statistics.getEntityLoadCount()).isZero();
+            Assertions.assertThat(contactManagerServiceUnderTest.findChangesByUserId(Users.ROBERT.id(), since).getDeleted())
+                .hasSize(4);
+        }
+    }
+
+    @Nested
+    public class DeleteAllByUserId {
+
+        @Test
+        @DisplayName("Should delete every contact of the user and only theirs")
+        void shouldDeleteEveryContactOfTheUserAndOnlyTheirs() {
+            final long since = contactManagerServiceUnderTest.findListVersionByUserId(Users.JOE.id());
+
+            final int deletedCount = contactManagerServiceUnderTest.deleteAllByUserId(Users.JOE.id());
+
+            assertThat(deletedCount).isEqualTo(3);
+            Assertions.assertThat(contactManagerServiceUnderTest.findAllByUserId(Users.JOE.id())).isEmpty();
+            Assertions.assertThat(contactManagerServiceUnderTest.findAllByUserId(Users.ROBERT.id())).hasSize(4);
+            final Number phoneNumbersLeft = (Number) entityManager
+                .createNativeQuery("select count(*) from phone_numbers where contact_id = :id")
+                .setParameter("id", UUID.fromString("4fe25947-ecab-489c-a881-e0057124e408"))
+                .getSingleResult();
+            assertThat(phoneNumbersLeft.intValue()).isZero();
+            final ContactChanges changes = contactManagerServiceUnderTest.findChangesByUserId(Users.JOE.id(), since);
+            Assertions.assertThat(changes.getDeleted()).hasSize(3);
+            assertThat(changes.getToken()).isEqualTo(Long.toString(since + 1));
+        }
+
+        @Test
+        @DisplayName("When provided a non-existing user then should throw an exception")
+        void whenProvidedANonExistingUser_thenShouldThrowAnException() {
+            final Throwable throwable = catchThrowable(() -> contactManagerServiceUnderTest.deleteAllByUserId(Users.JULIA.id()));
+
+            assertResponseStatusException(throwable, "User not found", HttpStatus.NOT_FOUND);
+        }
+    }
+
+    @Nested
+    public class LockOrder {
+
+        private static final String USER_ID = "auth0|lock-order";
+
+        @Test
+        @Transactional(propagation = Propagation.NEVER)
+        @DisplayName("Should lock the user before the contact when deleting while another contact of the user is being replaced")
+        void shouldLockTheUserBeforeTheContactWhenDeletingWhileAnotherContactIsBeingReplaced() throws Exception {
+            final TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            transaction.executeWithoutResult(status -> entityManager
+                .createNativeQuery("insert into users (user_id, username) values (:id, 'lockorder')")
+                .setParameter("id", USER_ID)
+                .executeUpdate()
+            );
+            final ExecutorService executor = Executors.newFixedThreadPool(2);
+            try {
+                final List<UUID> ids = transaction.execute(status ->
+                    contactManagerServiceUnderTest.saveAllWithUser(List.of(new Contact("Replaced"), new Contact("Deleted")), USER_ID)
+                );
+                final CountDownLatch replaced = new CountDownLatch(1);
+                final CountDownLatch release = new CountDownLatch(1);
+                final Future<?> replacing = executor.submit(() -> transaction.executeWithoutResult(status -> {
+                    contactManagerServiceUnderTest.updateWithUser(Contact.toContact(ContactData.builder()
+                        .name("Replaced again")
+                        .phoneNumbers(Map.of("home", "+15550004444"))
+                        .emails(Map.of())
+                        .addresses(Map.of())
+                        .build(), ids.get(0)), USER_ID);
+                    replaced.countDown();
+                    try {
+                        release.await();
+                    }
+                    catch (InterruptedException exception) {
+                        throw new IllegalStateException(exception);
+                    }
+                }));
+                assertThat(replaced.await(10, TimeUnit.SECONDS)).isTrue();
+                final Future<?> deleting = executor.submit(() -> transaction.executeWithoutResult(status ->
+                    contactManagerServiceUnderTest.deleteByIdWithUser(ids.get(1), USER_ID)
+                ));
+                awaitLockWaiter();
+
+                // the delete waits for the lock of the user without holding the contact it deletes
+                final List<?> unlockedContacts = transaction.execute(status -> entityManager
+                    .createNativeQuery("select contact_id from contacts where contact_id = :id for update skip locked")
+                    .setParameter("id", ids.get(1))
+                    .getResultList()
+                );
+                release.countDown();
+                replacing.get(10, TimeUnit.SECONDS);
+                deleting.get(10, TimeUnit.SECONDS);
+
+                assertThat(unlockedContacts).hasSize(1);
+                final List<Contact> contacts = transaction.execute(status -> contactManagerServiceUnderTest.findAllByUserId(USER_ID));
+                assertThat(contacts).extracting(Contact::getName).containsExactly("Replaced again");
+            }
+            finally {
+                executor.shutdownNow();
+                transaction.executeWithoutResult(status -> entityManager
+                    .createNativeQuery("delete from users where user_id = :id")
+                    .setParameter("id", USER_ID)
+                    .executeUpdate()
+                );
+                contactCache.invalidateUser(USER_ID);
+            }
+        }
+
+        private void awaitLockWaiter() throws InterruptedException {
+            final TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            for (int attempt = 0; attempt < 100; attempt++) {
+                final Number waiters = transaction.execute(status -> (Number) entityManager
+                    .createNativeQuery("select count(*) from pg_stat_activity where datname = current_database() and wait_event_type = 'Lock'")
+                    .getSingleResult()
+                );
+                if (waiters.intValue() > 0) return;
+                Thread.sleep(100);
+            }
+            throw new AssertionError("The delete never waited for a lock");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, String> rowLocations(final String table, final UUID contactId) {
+        final List<Object[]> rows = entityManager.createNativeQuery("select mark, cast(ctid as text) from " + table + " where contact_id = :id")
+            .setParameter("id", contactId)
+            .getResultList();
+        final Map<String, String> locations = new HashMap<>();
+        rows.forEach(row -> locations.put((String) row[0], (String) row[1]));
+        return locations;
     }
 
     private void assertResponseStatusException(final Throwable throwable, final String message, final HttpStatus httpStatus) {
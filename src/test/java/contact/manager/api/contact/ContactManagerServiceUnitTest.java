@@ -1,6 +1,9 @@
 package contact.manager.api.contact;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import contact.manager.api.invalidation.CacheInvalidationBus;
 import contact.manager.api.user.UserService;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -9,10 +12,19 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.HttpStatus;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -29,11 +41,30 @@ public class ContactManagerServiceUnitTest {
     @MockBean
     private UserService userService;
 
+    @MockBean
+    private ContactIdempotencyStore contactIdempotencyStore;
+
+    @MockBean
+    private ContactCache contactCache;
+
+    private MissingContactCache missingContactCache;
+
+    private CacheInvalidationBus cacheInvalidationBus;
+
     private ContactManagerService contactManagerServiceUnderTest;
 
     @BeforeEach
     void beforeEach() {
-        contactManagerServiceUnderTest = new ContactManagerServiceImpl(contactRepository, userService);
+        missingContactCache = new MissingContactCache(100, Duration.ofSeconds(30));
+        cacheInvalidationBus = mock(CacheInvalidationBus.class);
+        LocalValidatorFactoryBean validator = new LocalValidatorFactoryBean();
+        validator.afterPropertiesSet();
+        contactManagerServiceUnderTest = new ContactManagerServiceImpl(
+            contactRepository, userService, contactIdempotencyStore, contactCache, missingContactCache,
+            cacheInvalidationBus, new ObjectMapper().findAndRegisterModules(),
+            validator, new TransactionTemplate(mock(PlatformTransactionManager.class))
+        );
+        ReflectionTestUtils.setField(contactManagerServiceUnderTest, "entityManager", mock(EntityManager.class));
     }
 
     @Nested
@@ -58,14 +89,14 @@ public class ContactManagerServiceUnitTest {
         @DisplayName("Given a valid user id then should return all of the contacts owned by the user")
         void whenUserIdIsValid_thenShouldReturnAllOfTheContactsOwnedByTheUser() {
             String robertId = Users.ROBERT.id();
-            when(userService.findById(eq(robertId))).thenReturn(getMockedUser());
+            when(userService.findReferenceById(eq(robertId))).thenReturn(getMockedUser());
             when(contactRepository.findAllByUserId(eq(robertId))).thenReturn(getContactsForRobert());
 
             List<Contact> actualContacts = contactManagerServiceUnderTest.findAllByUserId(robertId);
 
             assertThat(actualContacts).hasSize(4);
 
-            verify(userService, once()).findById(eq(robertId));
+            verify(userService, once()).findReferenceById(eq(robertId));
             verify(contactRepository, once()).findAllByUserId(eq(robertId));
         }
 
@@ -73,7 +104,7 @@ public class ContactManagerServiceUnitTest {
         @DisplayName("Given an invalid user id then should throw ResponseStatusException NOT FOUND")
         void whenUserIdIsInvalid_thenShouldThrowAnException() {
             String robertId = Users.ROBERT.id();
-            when(userService.findById(eq(robertId)))
+            when(userService.findReferenceById(eq(robertId)))
                 .thenThrow(new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
 
             Throwable throwable = catchThrowable(() -> contactManagerServiceUnderTest.findAllByUserId(robertId));
@@ -81,7 +112,7 @@ public class ContactManagerServiceUnitTest {
             assertThat(throwable).isInstanceOf(ResponseStatusException.class);
             assertThat(throwable).hasMessageContaining("User not found");
 
-            verify(userService, once()).findById(eq(robertId));
+            verify(userService, once()).findReferenceById(eq(robertId));
             verifyNoInteractions(contactRepository);
         }
     }
@@ -94,31 +125,67 @@ public class ContactManagerServiceUnitTest {
         public void whenContactIdDoesNotExist_thenShouldThrowAnException() {
             String robertId = Users.ROBERT.id();
             UUID contactId = UUID.fromString("37414529-e28f-47bc-a4fa-99c2aa79ca90");
-            when(contactRepository.findById(eq(contactId)))
-                .thenThrow(new ResponseStatusException(HttpStatus.NOT_FOUND, "Contact not found"));
+            when(contactRepository.findByIdAndUserId(eq(contactId), eq(robertId))).thenReturn(Optional.empty());
+            when(contactRepository.existsById(eq(contactId))).thenReturn(false);
 
             Throwable throwable = catchThrowable(() -> contactManagerServiceUnderTest.findByIdWithUser(contactId, robertId));
 
             assertThat(throwable).isInstanceOf(ResponseStatusException.class);
             assertThat(throwable).hasMessageContaining("Contact not found");
 
-            verify(contactRepository, once()).findById(eq(contactId));
+            verify(contactRepository, once()).findByIdAndUserId(eq(contactId), eq(robertId));
+            verify(contactRepository, once()).existsById(eq(contactId));
             verifyNoInteractions(userService);
         }
 
+        @Test
+        @DisplayName("When a non-existing ContactId is looked up again then should not query the repository a second time")
+        public void whenANonExistingContactIdIsLookedUpAgain_thenShouldNotQueryTheRepositoryASecondTime() {
+            String robertId = Users.ROBERT.id();
+            UUID contactId = UUID.fromString("37414529-e28f-47bc-a4fa-99c2aa79ca90");
+            when(contactRepository.findByIdAndUserId(eq(contactId), eq(robertId))).thenReturn(Optional.empty());
+            when(contactRepository.existsById(eq(contactId))).thenReturn(false);
+
+            catchThrowable(() -> contactManagerServiceUnderTest.findByIdWithUser(contactId, robertId));
+            Throwable throwable = catchThrowable(() -> contactManagerServiceUnderTest.findByIdWithUser(contactId, robertId));
+
+            assertThat(throwable).isInstanceOf(ResponseStatusException.class);
+            assertThat(throwable).hasMessageContaining("Contact not found");
+            assertThat(((ResponseStatusException) throwable).getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+            assertThat(missingContactCache.getHitCount()).isEqualTo(1);
+
+            verify(contactRepository, once()).findByIdAndUserId(eq(contactId), eq(robertId));
+            verify(contactRepository, once()).existsById(eq(contactId));
+        }
+
+        @Test
+        @DisplayName("When a contact belongs to another user then should not remember it as missing")
+        public void whenAContactBelongsToAnotherUser_thenShouldNotRememberItAsMissing() {
+            String robertId = Users.ROBERT.id();
+            UUID contactId = UUID.fromString("37414529-e28f-47bc-a4fa-99c2aa79ca90");
+            when(contactRepository.findByIdAndUserId(eq(contactId), eq(robertId))).thenReturn(Optional.empty());
+            when(contactRepository.existsById(eq(contactId))).thenReturn(true);
+
+            catchThrowable(() -> contactManagerServiceUnderTest.findByIdWithUser(contactId, robertId));
+
+            assertThat(missingContactCache.size()).isZero();
+        }
+
         @Test
         @DisplayName("When a contact does not belong to the user then should throw ResponseStatusException")
         public void whenContactDoesNotBelongToTheUser_thenShouldThrowAnException() {
             String robertId = Users.ROBERT.id();
             UUID contactId = UUID.fromString("37414529-e28f-47bc-a4fa-99c2aa79ca90");
-            when(contactRepository.findById(eq(contactId))).thenReturn(Optional.of(getFirstContact()));
+            when(contactRepository.findByIdAndUserId(eq(contactId), eq(robertId))).thenReturn(Optional.empty());
+            when(contactRepository.existsById(eq(contactId))).thenReturn(true);
 
             Throwable throwable = catchThrowable(() -> contactManagerServiceUnderTest.findByIdWithUser(contactId, robertId));
 
             assertThat(throwable).isInstanceOf(ResponseStatusException.class);
             assertThat(throwable).hasMessageContaining("Contact belongs to another user");
 
-            verify(contactRepository, once()).findById(eq(contactId));
+            verify(contactRepository, once()).findByIdAndUserId(eq(contactId), eq(robertId));
+            verify(contactRepository, once()).existsById(eq(contactId));
             verifyNoInteractions(userService);
         }
 
@@ -127,17 +194,90 @@ public class ContactManagerServiceUnitTest {
         public void whenProvidedContactIdAndUserId_thenShouldReturnAContactSuccessfully() {
             String robertId = Users.ROBERT.id();
             UUID contactId = UUID.fromString("7f23057f-77bd-4568-ac64-e933abae9a09");
-            when(contactRepository.findById(eq(contactId))).thenReturn(Optional.of(getContactById(contactId)));
+            when(contactRepository.findByIdAndUserId(eq(contactId), eq(robertId))).thenReturn(Optional.of(getContactById(contactId)));
 
             Contact actualContact = contactManagerServiceUnderTest.findByIdWithUser(contactId, robertId);
 
             assertThat(actualContact).isNotNull();
 
-            verify(contactRepository, once()).findById(eq(contactId));
+            verify(contactRepository, once()).findByIdAndUserId(eq(contactId), eq(robertId));
+            verify(contactRepository, never()).existsById(any(UUID.class));
             verifyNoInteractions(userService);
         }
     }
 
+    @Nested
+    public class FindJsonByIdWithUser {
+
+        @Test
+        @DisplayName("When the JSON of the stored version is cached then should return it without loading the contact")
+        void whenTheJsonOfTheStoredVersionIsCached_thenShouldReturnItWithoutLoadingTheContact() {
+            String robertId = Users.ROBERT.id();
+            UUID contactId = UUID.fromString("7f23057f-77bd-4568-ac64-e933abae9a09");
+            byte[] json = "{\"name\":\"Cached\"}".getBytes(StandardCharsets.UTF_8);
+            when(contactRepository.findVersionByIdAndUserId(eq(contactId), eq(robertId))).thenReturn(Optional.of(3L));
+            when(contactCache.getContactJson(eq(contactId), eq(robertId), eq(3L))).thenReturn(Optional.of(json));
+
+            ContactJson contactJson = contactManagerServiceUnderTest.findJsonByIdWithUser(contactId, robertId);
+
+            assertThat(contactJson.getVersion()).isEqualTo(3L);
+            assertThat(contactJson.getJson()).isSameAs(json);
+            verify(contactCache, never()).getContact(any(UUID.class), anyString());
+            verify(contactRepository, never()).findByIdAndUserId(any(UUID.class), anyString());
+            verify(contactCache, never()).putContactJson(any(), anyString(), anyLong(), any(), anyLong());
+        }
+
+        @Test
+        @DisplayName("When the JSON is not cached then should serialize the contact and cache it under its version")
+        void whenTheJsonIsNotCached_thenShouldSerializeTheContactAndCacheItUnderItsVersion() {
+            String robertId = Users.ROBERT.id();
+            UUID contactId = UUID.fromString("7f23057f-77bd-4568-ac64-e933abae9a09");
+            Contact contact = getContactById(contactId);
+            when(contactCache.stamp(eq(robertId))).thenReturn(2L);
+            when(contactRepository.findVersionByIdAndUserId(eq(contactId), eq(robertId))).thenReturn(Optional.of(contact.getVersion()));
+            when(contactCache.getContactJson(any(), anyString(), anyLong())).thenReturn(Optional.empty());
+            when(contactCache.getContact(any(), anyString())).thenReturn(Optional.empty());
+            when(contactRepository.findByIdAndUserId(eq(contactId), eq(robertId))).thenReturn(Optional.of(contact));
+
+            ContactJson contactJson = contactManagerServiceUnderTest.findJsonByIdWithUser(contactId, robertId);
+
+            assertThat(new String(contactJson.getJson(), StandardCharsets.UTF_8)).contains("\"name\":\"" + contact.getName() + "\"");
+            verify(contactCache, once()).putContactJson(eq(contactId), eq(robertId), eq(contact.getVersion()), eq(contactJson.getJson()), eq(2L));
+        }
+    }
+
+    @Nested
+    public class FindAllJsonByUserId {
+
+        @Test
+        @DisplayName("When the JSON of the version of the list is cached then should return it without loading the contacts")
+        void whenTheJsonOfTheVersionOfTheListIsCached_thenShouldReturnItWithoutLoadingTheContacts() {
+            String robertId = Users.ROBERT.id();
+            byte[] json = "[{\"name\":\"Cached\"}]".getBytes(StandardCharsets.UTF_8);
+            when(contactCache.getListJson(eq(robertId), eq(7L))).thenReturn(Optional.of(json));
+
+            assertThat(contactManagerServiceUnderTest.findAllJsonByUserId(robertId, 7L)).isSameAs(json);
+
+            verifyNoInteractions(contactRepository);
+            verify(contactCache, never()).putListJson(anyString(), anyLong(), any(), anyLong());
+        }
+
+        @Test
+        @DisplayName("When the JSON is not cached then should serialize the contacts and cache them under the version of the list")
+        void whenTheJsonIsNotCached_thenShouldSerializeTheContactsAndCacheThemUnderTheVersionOfTheList() {
+            String robertId = Users.ROBERT.id();
+            when(contactCache.stamp(eq(robertId))).thenReturn(2L);
+            when(contactCache.getListJson(anyString(), anyLong())).thenReturn(Optional.empty());
+            when(contactCache.getList(anyString())).thenReturn(Optional.empty());
+            when(contactRepository.findAllByUserId(eq(robertId))).thenReturn(getContactsForRobert());
+
+            byte[] json = contactManagerServiceUnderTest.findAllJsonByUserId(robertId, 7L);
+
+            assertThat(new String(json, StandardCharsets.UTF_8)).startsWith("[{").contains("\"name\":\"Mom\"");
+            verify(contactCache, once()).putListJson(eq(robertId), eq(7L), eq(json), eq(2L));
+        }
+    }
+
     @Nested
     public class SaveWithUser {
 
@@ -146,12 +286,12 @@ public class ContactManagerServiceUnitTest {
         public void whenProvidedContactAndUserId_thenShouldSaveTheContactSuccessfully() {
             Contact contact = getFirstContact();
             String robertId = Users.ROBERT.id();
-            when(userService.findById(eq(robertId))).thenReturn(getMockedUser());
+            when(userService.findReferenceById(eq(robertId))).thenReturn(getMockedUser());
             doNothing().when(contactRepository).save(any(Contact.class));
 
             contactManagerServiceUnderTest.saveWithUser(contact, robertId);
 
-            verify(userService, once()).findById(eq(robertId));
+            verify(userService, once()).findReferenceById(eq(robertId));
             verify(contactRepository, once()).save(any(Contact.class));
         }
 
@@ -160,7 +300,7 @@ public class ContactManagerServiceUnitTest {
         public void whenUserIdDoesNotExist_thenShouldThrowAnException() {
             Contact contact = getFirstContact();
             String robertId = Users.ROBERT.id();
-            when(userService.findById(eq(robertId)))
+            when(userService.findReferenceById(eq(robertId)))
                 .thenThrow(new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
 
             Throwable throwable = catchThrowable(() -> contactManagerServiceUnderTest.saveWithUser(contact, robertId));
@@ -169,11 +309,61 @@ public class ContactManagerServiceUnitTest {
             assertThat(throwable).isInstanceOf(ResponseStatusException.class);
             assertThat(throwable).hasMessageContaining("User not found");
 
-            verify(userService, once()).findById(eq(robertId));
+            verify(userService, once()).findReferenceById(eq(robertId));
             verifyNoInteractions(contactRepository);
         }
     }
 
+    @Nested
+    public class ImportAll {
+
+        @Test
+        @DisplayName("Should save the valid records in batches and hand over the results of each batch once it is saved")
+        public void shouldSaveTheValidRecordsInBatchesAndHandOverTheResultsOfEachBatchOnceItIsSaved() throws Exception {
+            String robertId = Users.ROBERT.id();
+            List<ContactData> records = new ArrayList<>();
+            records.add(contactData("X"));
+            for (int i = 0; i < 201; i++)
+                records.add(contactData("Imported contact " + i));
+            Iterator<ContactData> iterator = records.iterator();
+            when(userService.findReferenceById(eq(robertId))).thenReturn(getMockedUser());
+            when(userService.incrementContactsVersion(eq(robertId))).thenReturn(1L, 2L);
+            List<List<ContactBatchResult>> results = new ArrayList<>();
+
+            contactManagerServiceUnderTest.importAll(() -> iterator.hasNext() ? iterator.next() : null, robertId, results::add);
+
+            assertThat(results).hasSize(2);
+            assertThat(results.get(0)).hasSize(201).first().satisfies(result -> {
+                assertThat(result.getIndex()).isZero();
+                assertThat(result.getFieldViolations()).containsKey("name");
+            });
+            assertThat(results.get(0).get(1).getIndex()).isEqualTo(1);
+            assertThat(results.get(1)).singleElement().satisfies(result -> assertThat(result.getIndex()).isEqualTo(201));
+            verify(userService, times(2)).incrementContactsVersion(eq(robertId));
+            verify(contactRepository, times(201)).save(any(Contact.class));
+        }
+
+        private ContactData contactData(String name) {
+            Contact contact = new Contact(name, UUID.randomUUID());
+            contact.putPhoneNumber("home", "+15551234567");
+            return contact.toContactDta();
+        }
+
+        @Test
+        @DisplayName("When the user does not exist then should throw before reading any record")
+        public void whenTheUserDoesNotExist_thenShouldThrowBeforeReadingAnyRecord() {
+            String robertId = Users.ROBERT.id();
+            ContactReader contactReader = mock(ContactReader.class);
+            when(userService.findReferenceById(eq(robertId)))
+                .thenThrow(new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+
+            Throwable throwable = catchThrowable(() -> contactManagerServiceUnderTest.importAll(contactReader, robertId, results -> {}));
+
+            assertThat(throwable).isInstanceOf(ResponseStatusException.class).hasMessageContaining("User not found");
+            verifyNoInteractions(contactReader, contactRepository);
+        }
+    }
+
     @Nested
     public class UpdateWithUser {
 
@@ -182,8 +372,8 @@ public class ContactManagerServiceUnitTest {
         public void whenProvidedANonExistingContact_whenShouldThrowAnException() {
             String robertId = Users.ROBERT.id();
             Contact contact = getFirstContact();
-            when(contactRepository.findById(eq(contact.getId())))
-                .thenThrow(new ResponseStatusException(HttpStatus.NOT_FOUND, "Contact not found"));
+            when(contactRepository.findByIdAndUserId(eq(contact.getId()), eq(robertId))).thenReturn(Optional.empty());
+            when(contactRepository.existsById(eq(contact.getId()))).thenReturn(false);
 
             Throwable throwable = catchThrowable(() -> contactManagerServiceUnderTest.updateWithUser(contact, robertId));
 
@@ -191,8 +381,8 @@ public class ContactManagerServiceUnitTest {
             assertThat(throwable).isInstanceOf(ResponseStatusException.class);
             assertThat(throwable).hasMessageContaining("Contact not found");
 
-            verify(contactRepository, once()).findById(eq(contact.getId()));
-            verifyNoInteractions(userService);
+            verify(contactRepository, once()).findByIdAndUserId(eq(contact.getId()), eq(robertId));
+            verifyNoInteractions(userService, cacheInvalidationBus);
         }
 
         @Test
@@ -200,8 +390,8 @@ public class ContactManagerServiceUnitTest {
         public void whenAContactDoesNotBelongToTheUser_thenShouldThrowAnException() {
             String robertId = Users.ROBERT.id();
             Contact contact = getFirstContact();
-            when(contactRepository.findById(eq(contact.getId())))
-                .thenReturn(Optional.of(getFirstContact()));
+            when(contactRepository.findByIdAndUserId(eq(contact.getId()), eq(robertId))).thenReturn(Optional.empty());
+            when(contactRepository.existsById(eq(contact.getId()))).thenReturn(true);
 
             Throwable throwable = catchThrowable(() -> contactManagerServiceUnderTest.updateWithUser(contact, robertId));
 
@@ -209,24 +399,63 @@ public class ContactManagerServiceUnitTest {
             assertThat(throwable).isInstanceOf(ResponseStatusException.class);
             assertThat(throwable).hasMessageContaining("Contact belongs to another user");
 
-            verify(contactRepository, once()).findById(eq(contact.getId()));
-            verifyNoInteractions(userService);
+            verify(contactRepository, once()).findByIdAndUserId(eq(contact.getId()), eq(robertId));
+            verifyNoInteractions(userService, cacheInvalidationBus);
+        }
+
+        @Test
+        @DisplayName("When the stored contact has another version than the expected one then should throw ResponseStatusException PRECONDITION FAILED")
+        public void whenTheStoredContactHasAnotherVersion_thenShouldThrowAnException() {
+            String robertId = Users.ROBERT.id();
+            UUID contactId = UUID.fromString("7f23057f-77bd-4568-ac64-e933abae9a09");
+            Contact storedContact = makeCopy(getContactById(contactId));
+            storedContact.setVersion(3);
+            Contact contact = makeCopy(getContactById(contactId));
+            contact.putPhoneNumber("home", "+15550004444");
+            when(contactRepository.findByIdAndUserId(eq(contactId), eq(robertId))).thenReturn(Optional.of(storedContact));
+
+            Throwable throwable = catchThrowable(() -> contactManagerServiceUnderTest.updateWithUser(contact, Set.of(2L), robertId));
+
+            assertThat(throwable).isInstanceOf(ResponseStatusException.class);
+            assertThat(((ResponseStatusException) throwable).getStatusCode()).isEqualTo(HttpStatus.PRECONDITION_FAILED);
+            assertThat(storedContact.getPhoneNumberMap()).isNotEqualTo(contact.getPhoneNumberMap());
+            verifyNoInteractions(userService, cacheInvalidationBus);
         }
 
         @Test
-        @DisplayName("When provided contact and userId then should entirely update the contact successfully")
+        @DisplayName("When provided contact and userId then should apply it to the stored contact")
         public void whenProvidedContactAndUserId_thenShouldUpdateTheContactSuccessfully() {
             String robertId = Users.ROBERT.id();
             UUID contactId = UUID.fromString("7f23057f-77bd-4568-ac64-e933abae9a09");
-            Contact contact = getContactById(contactId);
-            when(contactRepository.findById(eq(contactId))).thenReturn(Optional.of(contact));
-            doNothing().when(contactRepository).save(any(Contact.class));
+            Contact storedContact = makeCopy(getContactById(contactId));
+            Contact contact = makeCopy(getContactById(contactId));
+            contact.putPhoneNumber("home", "+15550004444");
+            when(contactRepository.findByIdAndUserId(eq(contactId), eq(robertId))).thenReturn(Optional.of(storedContact));
+            when(userService.incrementContactsVersion(eq(robertId))).thenReturn(7L);
+
+            contactManagerServiceUnderTest.updateWithUser(contact, Set.of(0L), robertId);
+
+            assertThat(storedContact.getPhoneNumberMap()).isEqualTo(contact.getPhoneNumberMap());
+            assertThat(storedContact.getSyncVersion()).isEqualTo(7L);
+            verify(contactRepository, once()).findByIdAndUserId(eq(contactId), eq(robertId));
+            verify(contactRepository, never()).save(any(Contact.class));
+            verify(userService, once()).incrementContactsVersion(eq(robertId));
+            verifyNoMoreInteractions(userService);
+            verify(contactCache, atLeastOnce()).invalidate(eq(robertId), eq(List.of(contactId)));
+        }
 
-            contactManagerServiceUnderTest.updateWithUser(contact, robertId);
+        @Test
+        @DisplayName("When provided a contact identical to the stored one then should not bump any version")
+        public void whenProvidedAContactIdenticalToTheStoredOne_thenShouldNotBumpAnyVersion() {
+            String robertId = Users.ROBERT.id();
+            UUID contactId = UUID.fromString("7f23057f-77bd-4568-ac64-e933abae9a09");
+            when(contactRepository.findByIdAndUserId(eq(contactId), eq(robertId)))
+                .thenReturn(Optional.of(makeCopy(getContactById(contactId))));
 
-            verify(contactRepository, once()).findById(eq(contactId));
-            verify(contactRepository, once()).save(any(Contact.class));
-            verifyNoInteractions(userService);
+            contactManagerServiceUnderTest.updateWithUser(makeCopy(getContactById(contactId)), robertId);
+
+            verify(contactRepository, never()).save(any(Contact.class));
+            verifyNoInteractions(userService, contactCache, cacheInvalidationBus);
         }
     }
 
@@ -274,14 +503,12 @@ public class ContactManagerServiceUnitTest {
         public void whenProvidedContactIdAndUserId_thenShouldDeleteAContactSuccessfully() {
             String robertId = Users.ROBERT.id();
             UUID contactId = UUID.fromString("7f23057f-77bd-4568-ac64-e933abae9a09");
-            when(contactRepository.findById(eq(contactId)))
-                .thenReturn(Optional.of(getContactById(contactId)));
-            doNothing().when(contactRepository).deleteById(eq(contactId));
+            when(contactRepository.deleteByIdAndUserId(eq(contactId), eq(robertId))).thenReturn(Optional.of(contactId));
 
             contactManagerServiceUnderTest.deleteByIdWithUser(contactId, robertId);
 
-            verify(contactRepository, once()).findById(eq(contactId));
-            verify(contactRepository, once()).deleteById(contactId);
+            verify(contactRepository, once()).deleteByIdAndUserId(eq(contactId), eq(robertId));
+            verify(contactRepository, never()).existsById(any(UUID.class));
             verifyNoInteractions(userService);
         }
 
@@ -290,8 +517,8 @@ public class ContactManagerServiceUnitTest {
         public void whenContactIsNotFound_thenShouldThrowAnException() {
             String robertId = Users.ROBERT.id();
             UUID contactId = UUID.fromString("7f23057f-77bd-4568-ac64-e933abae9a09");
-            when(contactRepository.findById(eq(contactId)))
-                .thenThrow(new ResponseStatusException(HttpStatus.NOT_FOUND, "Contact not found"));
+            when(contactRepository.deleteByIdAndUserId(eq(contactId), eq(robertId))).thenReturn(Optional.empty());
+            when(contactRepository.existsById(eq(contactId))).thenReturn(false);
 
             Throwable throwable = catchThrowable(() -> contactManagerServiceUnderTest.deleteByIdWithUser(contactId, robertId));
 
@@ -299,7 +526,8 @@ public class ContactManagerServiceUnitTest {
             assertThat(throwable).isInstanceOf(ResponseStatusException.class);
             assertThat(throwable).hasMessageContaining("Contact not found");
 
-            verify(contactRepository, once()).findById(eq(contactId));
+            verify(contactRepository, once()).deleteByIdAndUserId(eq(contactId), eq(robertId));
+            verify(contactRepository, once()).existsById(eq(contactId));
             verifyNoInteractions(userService);
         }
 
@@ -308,8 +536,8 @@ public class ContactManagerServiceUnitTest {
         public void whenAContactDoesNotBelongToTheUser_thenShouldThrowAnException() {
             String robertId = Users.ROBERT.id();
             UUID contactId = UUID.fromString("7f23057f-77bd-4568-ac64-e933abae9a09");
-            when(contactRepository.findById(eq(contactId)))
-                .thenReturn(Optional.of(getFirstContact()));
+            when(contactRepository.deleteByIdAndUserId(eq(contactId), eq(robertId))).thenReturn(Optional.empty());
+            when(contactRepository.existsById(eq(contactId))).thenReturn(true);
 
             Throwable throwable = catchThrowable(() -> contactManagerServiceUnderTest.deleteByIdWithUser(contactId, robertId));
 
@@ -317,7 +545,8 @@ public class ContactManagerServiceUnitTest {
             assertThat(throwable).isInstanceOf(ResponseStatusException.class);
             assertThat(throwable).hasMessageContaining("Contact belongs to another user");
 
-            verify(contactRepository, once()).findById(eq(contactId));
+            verify(contactRepository, once()).deleteByIdAndUserId(eq(contactId), eq(robertId));
+            verify(contactRepository, once()).existsById(eq(contactId));
             verifyNoInteractions(userService);
         }
     }
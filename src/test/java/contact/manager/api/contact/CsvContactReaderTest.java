@@ -0,0 +1,65 @@
+package contact.manager.api.contact;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class CsvContactReaderTest {
+
+    @Test
+    @DisplayName("Should read the fields named by the header, including quoted ones")
+    void shouldReadTheFieldsNamedByTheHeaderIncludingQuotedOnes() throws IOException {
+        CsvContactReader csvContactReader = CsvContactReader.open(new StringReader(
+            "name,birthday,company,phoneNumbers.home,emails.work,addresses.home.street,addresses.home.city\r\n" +
+            "\"Smith, Anna\",1990-05-15,\"Acme \"\"West\"\"\",+15551234567,anna@acme.com,123 Main Street,Springfield\r\n" +
+            "\r\n" +
+            "Bob,,,+15559876543,,,\n"
+        ));
+
+        ContactData anna = csvContactReader.read();
+        ContactData bob = csvContactReader.read();
+
+        assertThat(anna.getName()).isEqualTo("Smith, Anna");
+        assertThat(anna.getBirthday()).isEqualTo(LocalDate.of(1990, 5, 15));
+        assertThat(anna.getCompany()).isEqualTo("Acme \"West\"");
+        assertThat(anna.getPhoneNumbers()).containsExactly(Map.entry("home", "+15551234567"));
+        assertThat(anna.getEmails()).containsExactly(Map.entry("work", "anna@acme.com"));
+        assertThat(anna.getAddresses().get("home").getStreet()).isEqualTo("123 Main Street");
+        assertThat(anna.getAddresses().get("home").getCity()).isEqualTo("Springfield");
+        assertThat(bob.getName()).isEqualTo("Bob");
+        assertThat(bob.getBirthday()).isNull();
+        assertThat(bob.getEmails()).isEmpty();
+        assertThat(bob.getAddresses()).isEmpty();
+        assertThat(csvContactReader.read()).isNull();
+    }
+
+    @Test
+    @DisplayName("When a record is malformed then should reject it and carry on with the next one")
+    void whenARecordIsMalformed_thenShouldRejectItAndCarryOnWithTheNextOne() throws IOException {
+        CsvContactReader csvContactReader = CsvContactReader.open(new StringReader(
+            "name,birthday\nAnna\nBob,15/05/1990\n\"" + "x".repeat(CsvContactReader.MAX_RECORD_LENGTH) + "\",\nCarl,\n"
+        ));
+
+        assertThat(catchThrowable(csvContactReader::read)).hasMessage("record has 1 fields but the header has 2");
+        assertThat(catchThrowable(csvContactReader::read)).hasMessage("Invalid date format. Expected format is YYYY-MM-DD.");
+        assertThat(catchThrowable(csvContactReader::read)).hasMessageContaining("record is longer than");
+        assertThat(csvContactReader.read().getName()).isEqualTo("Carl");
+    }
+
+    @Test
+    @DisplayName("When the header names an unknown column then should throw ResponseStatusException BAD REQUEST")
+    void whenTheHeaderNamesAnUnknownColumn_thenShouldThrowAnException() {
+        Throwable throwable = catchThrowable(() -> CsvContactReader.open(new StringReader("name,nickname\nAnna,Annie\n")));
+
+        assertThat(throwable).isInstanceOf(ResponseStatusException.class);
+        assertThat(((ResponseStatusException) throwable).getReason()).isEqualTo("Unknown CSV column: nickname");
+    }
+}
@@ -0,0 +1,59 @@
+package contact.manager.api.contact;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CsvContactWriterTest {
+
+    @Test
+    @DisplayName("Should write records that are read back into the same contact")
+    void shouldWriteRecordsThatAreReadBackIntoTheSameContact() throws IOException {
+        final ContactData contactData = ContactData.builder()
+            .name("Isabella \"Bella\" Rodriguez")
+            .birthday(LocalDate.of(1990, 5, 15))
+            .company("Tech Solutions, Inc.")
+            .role("Software Engineer\r\nResearch")
+            .phoneNumbers(Map.of("home", "+15551234567", "cell", "+15555555555"))
+            .emails(Map.of("work", "isabella@tech.com"))
+            .addresses(Map.of("home", Address.builder()
+                .street("123 Main Street, Apt. 4")
+                .city("Los Angeles")
+                .state("California")
+                .zipcode("90001")
+                .country("United States")
+                .build()
+            ))
+            .build();
+        final StringWriter csv = new StringWriter();
+        final CsvContactWriter csvContactWriter = new CsvContactWriter(csv, List.of("cell", "home", "office"), List.of("work"), List.of("home"));
+
+        csvContactWriter.writeHeader();
+        csvContactWriter.write(Contact.toContact(contactData));
+
+        assertThat(csv.toString()).startsWith("name,birthday,company,role,phoneNumbers.cell,phoneNumbers.home,phoneNumbers.office,emails.work,");
+        assertThat(CsvContactReader.open(new StringReader(csv.toString())).read())
+            .usingRecursiveComparison()
+            .isEqualTo(contactData);
+    }
+
+    @Test
+    @DisplayName("Should leave missing values empty and quote empty ones like COPY does")
+    void shouldLeaveMissingValuesEmptyAndQuoteEmptyOnesLikeCopyDoes() throws IOException {
+        final Contact contact = new Contact("Fred");
+        contact.setCompany("");
+        final StringWriter csv = new StringWriter();
+
+        new CsvContactWriter(csv, List.of("home"), List.of(), List.of()).write(contact);
+
+        assertThat(csv.toString()).isEqualTo("Fred,,\"\",,\n");
+    }
+}
@@ -0,0 +1,90 @@
+package contact.manager.api.contact;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class VCardContactReaderTest {
+
+    @Test
+    @DisplayName("Should read vCard 3 and vCard 4 cards, unfolding long lines")
+    void shouldReadVCard3AndVCard4CardsUnfoldingLongLines() throws IOException {
+        VCardContactReader vCardContactReader = new VCardContactReader(new StringReader("""
+            BEGIN:VCARD\r
+            VERSION:3.0\r
+            N:Rodriguez;Isabella;;;\r
+            ORG:Tech Solutions Inc.;Research\r
+            TITLE:Software Engineer\r
+            BDAY:19900515\r
+            TEL;TYPE=HOME,VOICE:+1 (555) 123-4567\r
+            TEL;TYPE=CELL:+15555555555\r
+            item1.EMAIL;TYPE=INTERNET:isabella.rodriguez@exam\r
+             ple.com\r
+            ADR;TYPE=home:;;123 Main Street;Los Angeles;California;90001;United States\r
+            PHOTO;ENCODING=b;TYPE=JPEG:/9j/4AAQSkZJRgABAQ\r
+             AAAQABAAD\r
+            END:VCARD\r
+            BEGIN:VCARD
+            VERSION:4.0
+            FN:Joe Smith
+            BDAY:1985-08-20
+            TEL;VALUE=uri;TYPE="work,voice":tel:+15559876543
+            TEL;VALUE=uri;TYPE=work:tel:+15559870000
+            EMAIL:joe@smith.com
+            END:VCARD
+            """));
+
+        ContactData isabella = vCardContactReader.read();
+        ContactData joe = vCardContactReader.read();
+
+        assertThat(isabella.getName()).isEqualTo("Isabella Rodriguez");
+        assertThat(isabella.getCompany()).isEqualTo("Tech Solutions Inc.");
+        assertThat(isabella.getRole()).isEqualTo("Software Engineer");
+        assertThat(isabella.getBirthday()).isEqualTo(LocalDate.of(1990, 5, 15));
+        assertThat(isabella.getPhoneNumbers()).containsExactly(Map.entry("home", "+15551234567"), Map.entry("cell", "+15555555555"));
+        assertThat(isabella.getEmails()).containsExactly(Map.entry("main", "isabella.rodriguez@example.com"));
+        assertThat(isabella.getAddresses().get("home")).isEqualTo(Address.builder()
+            .street("123 Main Street")
+            .city("Los Angeles")
+            .state("California")
+            .zipcode("90001")
+            .country("United States")
+            .build()
+        );
+        assertThat(joe.getName()).isEqualTo("Joe Smith");
+        assertThat(joe.getBirthday()).isEqualTo(LocalDate.of(1985, 8, 20));
+        assertThat(joe.getPhoneNumbers()).containsExactly(Map.entry("work", "+15559876543"), Map.entry("work2", "+15559870000"));
+        assertThat(joe.getEmails()).containsExactly(Map.entry("main", "joe@smith.com"));
+        assertThat(vCardContactReader.read()).isNull();
+    }
+
+    @Test
+    @DisplayName("When a card is malformed then should reject it and carry on with the next one")
+    void whenACardIsMalformed_thenShouldRejectItAndCarryOnWithTheNextOne() throws IOException {
+        VCardContactReader vCardContactReader = new VCardContactReader(new StringReader("""
+            this is not a vCard
+            BEGIN:VCARD
+            FN:Bad Birthday
+            BDAY:someday
+            END:VCARD
+            BEGIN:VCARD
+            FN:Good One
+            END:VCARD
+            BEGIN:VCARD
+            FN:Never Ends
+            """));
+
+        assertThat(catchThrowable(vCardContactReader::read)).hasMessage("expected BEGIN:VCARD");
+        assertThat(catchThrowable(vCardContactReader::read)).hasMessage("Invalid date format. Expected format is YYYY-MM-DD.");
+        assertThat(vCardContactReader.read().getName()).isEqualTo("Good One");
+        assertThat(catchThrowable(vCardContactReader::read)).hasMessage("vCard is missing END:VCARD");
+        assertThat(vCardContactReader.read()).isNull();
+    }
+}
@@ -0,0 +1,56 @@
+package contact.manager.api.contact;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class VCardContactWriterTest {
+
+    @Test
+    @DisplayName("Should write cards that are read back into the same contact")
+    void shouldWriteCardsThatAreReadBackIntoTheSameContact() throws IOException {
+        final ContactData contactData = ContactData.builder()
+            .name("Isabella Rodriguez")
+            .birthday(LocalDate.of(1990, 5, 15))
+            .company("Tech Solutions, Inc.")
+            .role("Software Engineer; Research")
+            .phoneNumbers(Map.of("home", "+15551234567", "cell", "+15555555555"))
+            .emails(Map.of("work", "isabella@tech.com"))
+            .addresses(Map.of("home", Address.builder()
+                .street("123 Main Street, Apt. 4")
+                .city("Los Angeles")
+                .state("California")
+                .zipcode("90001")
+                .country("United States")
+                .build()
+            ))
+            .build();
+        final StringWriter vCard = new StringWriter();
+
+        new VCardContactWriter(vCard).write(Contact.toContact(contactData));
+
+        assertThat(vCard.toString()).startsWith("BEGIN:VCARD\r\nVERSION:4.0\r\n").endsWith("END:VCARD\r\n");
+        assertThat(new VCardContactReader(new StringReader(vCard.toString())).read())
+            .usingRecursiveComparison()
+            .isEqualTo(contactData);
+    }
+
+    @Test
+    @DisplayName("Should fold lines longer than 75 characters")
+    void shouldFoldLinesLongerThan75Characters() throws IOException {
+        final String name = "A".repeat(140);
+        final StringWriter vCard = new StringWriter();
+
+        new VCardContactWriter(vCard).write(new Contact(name));
+
+        assertThat(vCard.toString().lines()).allSatisfy(line -> assertThat(line).hasSizeLessThanOrEqualTo(76));
+        assertThat(new VCardContactReader(new StringReader(vCard.toString())).read().getName()).isEqualTo(name);
+    }
+}
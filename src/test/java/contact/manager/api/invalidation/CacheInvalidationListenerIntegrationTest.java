@@ -0,0 +1,127 @@
+package contact.manager.api.invalidation;
+
+import contact.manager.api.contact.ContactCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+public class CacheInvalidationListenerIntegrationTest {
+
+    private static final long TIMEOUT_MILLIS = 15_000;
+
+    private static final byte[] JSON = "{}".getBytes(StandardCharsets.UTF_8);
+
+    @Autowired
+    private ContactCache contactCache;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Autowired
+    private CacheInvalidationListener cacheInvalidationListener;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeEach
+    void beforeEach() {
+        await(cacheInvalidationListener::isListening);
+    }
+
+    @Test
+    @DisplayName("Should evict what another node invalidated")
+    void shouldEvictWhatAnotherNodeInvalidated() throws SQLException {
+        UUID contactId = UUID.randomUUID();
+        cache("auth0|remote", contactId);
+
+        notifyFrom("another-node", CacheInvalidation.contacts("auth0|remote", List.of(contactId)).get(0));
+
+        await(() -> !isCached("auth0|remote", contactId));
+    }
+
+    @Test
+    @DisplayName("Should ignore the invalidations this node published itself")
+    void shouldIgnoreTheInvalidationsThisNodePublishedItself() throws SQLException {
+        UUID ownContactId = UUID.randomUUID();
+        UUID remoteContactId = UUID.randomUUID();
+        cache("auth0|own", ownContactId);
+        cache("auth0|remote", remoteContactId);
+
+        notifyFrom(cacheInvalidationBus.getNodeId(), CacheInvalidation.contacts("auth0|own", List.of(ownContactId)).get(0));
+        notifyFrom("another-node", CacheInvalidation.contacts("auth0|remote", List.of(remoteContactId)).get(0));
+
+        await(() -> !isCached("auth0|remote", remoteContactId));
+        assertThat(isCached("auth0|own", ownContactId)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should drop everything it cached and listen again once its connection drops")
+    void shouldDropEverythingItCachedAndListenAgainOnceItsConnectionDrops() throws SQLException {
+        UUID contactId = UUID.randomUUID();
+        cache("auth0|stale", contactId);
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                 "select pg_terminate_backend(pid) from pg_stat_activity where application_name = ?"
+             )) {
+            statement.setString(1, CacheInvalidationListener.APPLICATION_NAME);
+            statement.execute();
+        }
+
+        await(() -> !isCached("auth0|stale", contactId));
+        await(cacheInvalidationListener::isListening);
+
+        UUID newContactId = UUID.randomUUID();
+        cache("auth0|remote", newContactId);
+        notifyFrom("another-node", CacheInvalidation.contacts("auth0|remote", List.of(newContactId)).get(0));
+
+        await(() -> !isCached("auth0|remote", newContactId));
+    }
+
+    private void cache(String userId, UUID contactId) {
+        contactCache.putListJson(userId, 1, JSON, contactCache.stamp(userId));
+        contactCache.putContactJson(contactId, userId, 1, JSON, contactCache.stamp(userId));
+        assertThat(isCached(userId, contactId)).isTrue();
+    }
+
+    private boolean isCached(String userId, UUID contactId) {
+        return contactCache.getListJson(userId, 1).isPresent() || contactCache.getContactJson(contactId, userId, 1).isPresent();
+    }
+
+    private void notifyFrom(String nodeId, CacheInvalidation invalidation) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("select pg_notify(?, ?)")) {
+            statement.setString(1, cacheInvalidationBus.getChannel());
+            statement.setString(2, invalidation.toPayload(nodeId));
+            statement.execute();
+        }
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("waited %d ms for the cache invalidation", TIMEOUT_MILLIS).isLessThan(deadline);
+            try {
+                Thread.sleep(20);
+            }
+            catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(exception);
+            }
+        }
+    }
+}
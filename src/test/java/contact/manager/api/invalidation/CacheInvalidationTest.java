@@ -0,0 +1,56 @@
+package contact.manager.api.invalidation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class CacheInvalidationTest {
+
+    @Test
+    @DisplayName("Should read back the invalidation and the node it was published from")
+    void shouldReadBackTheInvalidationAndTheNodeItWasPublishedFrom() {
+        List<UUID> contactIds = List.of(UUID.randomUUID(), UUID.randomUUID());
+
+        String payload = CacheInvalidation.contacts("auth0|c7b8835b 2947", contactIds).get(0).toPayload("node-1");
+        CacheInvalidation invalidation = CacheInvalidation.fromPayload(payload);
+
+        assertThat(CacheInvalidation.nodeIdOf(payload)).isEqualTo("node-1");
+        assertThat(invalidation.getType()).isEqualTo(CacheInvalidation.Type.CONTACTS);
+        assertThat(invalidation.getUserId()).isEqualTo("auth0|c7b8835b 2947");
+        assertThat(invalidation.getContactIds()).isEqualTo(contactIds);
+
+        CacheInvalidation allContacts = CacheInvalidation.fromPayload(CacheInvalidation.allContacts().toPayload("node-1"));
+        assertThat(allContacts.getType()).isEqualTo(CacheInvalidation.Type.ALL_CONTACTS);
+        assertThat(allContacts.getContactIds()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("When too many contacts changed to fit in a notification then should split them over several")
+    void whenTooManyContactsChangedToFitInANotification_thenShouldSplitThemOverSeveral() {
+        List<UUID> contactIds = IntStream.rangeClosed(0, CacheInvalidation.MAX_CONTACT_IDS).mapToObj(i -> UUID.randomUUID()).toList();
+
+        List<CacheInvalidation> invalidations = CacheInvalidation.contacts("auth0|1", contactIds);
+
+        assertThat(invalidations).hasSize(2);
+        assertThat(invalidations).allSatisfy(invalidation -> {
+            assertThat(invalidation.getType()).isEqualTo(CacheInvalidation.Type.CONTACTS);
+            assertThat(invalidation.getUserId()).isEqualTo("auth0|1");
+            assertThat(invalidation.toPayload(UUID.randomUUID().toString())).hasSizeLessThan(8000);
+        });
+        assertThat(invalidations).flatMap(CacheInvalidation::getContactIds).isEqualTo(contactIds);
+        assertThat(CacheInvalidation.contacts("auth0|1", List.of())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("When provided a malformed payload then should throw an exception")
+    void whenProvidedAMalformedPayload_thenShouldThrowAnException() {
+        assertThat(catchThrowable(() -> CacheInvalidation.fromPayload("node-1 CONTACTS"))).isInstanceOf(IllegalArgumentException.class);
+        assertThat(catchThrowable(() -> CacheInvalidation.fromPayload("node-1 UNKNOWN - auth0|1"))).isInstanceOf(IllegalArgumentException.class);
+    }
+}
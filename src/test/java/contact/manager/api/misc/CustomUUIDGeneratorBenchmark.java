@@ -0,0 +1,82 @@
+package contact.manager.api.misc;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@EnabledIfEnvironmentVariable(named = "BENCHMARK", matches = "true")
+public class CustomUUIDGeneratorBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    @DisplayName("Time-ordered v7 keys should insert faster and build a smaller primary key index than random v4 keys")
+    void compareInsertThroughputAndIndexSize() throws SQLException {
+        final int rows = Integer.parseInt(Objects.requireNonNullElse(System.getenv("BENCHMARK_ROWS"), "2000000"));
+
+        final Result v4 = insert("uuid_benchmark_v4", rows, UUID::randomUUID);
+        final Result v7 = insert("uuid_benchmark_v7", rows, CustomUUIDGenerator::nextUUID);
+
+        System.out.printf("rows=%d%n", rows);
+        System.out.printf("v4: %,.0f rows/s, primary key index %,d bytes%n", v4.rowsPerSecond(), v4.indexSize());
+        System.out.printf("v7: %,.0f rows/s, primary key index %,d bytes%n", v7.rowsPerSecond(), v7.indexSize());
+
+        assertThat(v7.indexSize()).isLessThan(v4.indexSize());
+    }
+
+    private Result insert(final String table, final int rows, final Supplier<UUID> generator) throws SQLException {
+        try (final Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (final Statement statement = connection.createStatement()) {
+                statement.execute("drop table if exists " + table);
+                statement.execute("create table " + table + " (contact_id uuid primary key, name varchar(140) not null)");
+            }
+            connection.commit();
+
+            final long start = System.nanoTime();
+            try (final PreparedStatement insert = connection.prepareStatement("insert into " + table + " values (?, ?)")) {
+                for (int i = 1; i <= rows; i++) {
+                    insert.setObject(1, generator.get());
+                    insert.setString(2, "Contact " + i);
+                    insert.addBatch();
+                    if (i % BATCH_SIZE == 0 || i == rows) {
+                        insert.executeBatch();
+                        connection.commit();
+                    }
+                }
+            }
+            final double seconds = (System.nanoTime() - start) / 1e9;
+
+            try (
+                final Statement statement = connection.createStatement();
+                final ResultSet resultSet = statement.executeQuery("select pg_relation_size('" + table + "_pkey')")
+            ) {
+                resultSet.next();
+                final long indexSize = resultSet.getLong(1);
+                statement.execute("drop table " + table);
+                connection.commit();
+                return new Result(rows / seconds, indexSize);
+            }
+        }
+    }
+
+    private record Result(double rowsPerSecond, long indexSize) {}
+}
@@ -0,0 +1,38 @@
+package contact.manager.api.misc;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CustomUUIDGeneratorTest {
+
+    @Test
+    @DisplayName("Should generate version 7 UUIDs carrying the current unix time in milliseconds")
+    void shouldGenerateVersion7UUIDsCarryingTheCurrentUnixTimeInMilliseconds() {
+        long before = System.currentTimeMillis();
+        UUID uuid = CustomUUIDGenerator.nextUUID();
+        long after = System.currentTimeMillis();
+
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+        assertThat(uuid.getMostSignificantBits() >>> 16).isBetween(before, after + 1);
+    }
+
+    @Test
+    @DisplayName("Should generate unique UUIDs that are strictly increasing even within the same millisecond")
+    void shouldGenerateUniqueUUIDsThatAreStrictlyIncreasingEvenWithinTheSameMillisecond() {
+        List<UUID> uuids = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++)
+            uuids.add(CustomUUIDGenerator.nextUUID());
+
+        assertThat(new HashSet<>(uuids)).hasSize(uuids.size());
+        assertThat(uuids).isSortedAccordingTo(Comparator.comparing(UUID::toString));
+    }
+}
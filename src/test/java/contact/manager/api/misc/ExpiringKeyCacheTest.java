@@ -0,0 +1,74 @@
+package contact.manager.api.misc;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ExpiringKeyCacheTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private final Ticker ticker = nanos::get;
+
+    private final ExpiringKeyCache<String> expiringKeyCache = new ExpiringKeyCache<>("test", 2, Duration.ofSeconds(30), ticker);
+
+    @Test
+    @DisplayName("Should forget a key once its time to live has elapsed")
+    void shouldForgetAKeyOnceItsTimeToLiveHasElapsed() {
+        expiringKeyCache.add("auth0|1", expiringKeyCache.stamp());
+
+        assertThat(expiringKeyCache.contains("auth0|1")).isTrue();
+
+        nanos.addAndGet(Duration.ofSeconds(31).toNanos());
+
+        assertThat(expiringKeyCache.contains("auth0|1")).isFalse();
+        assertThat(expiringKeyCache.size()).isZero();
+        assertThat(expiringKeyCache.getHitCount()).isEqualTo(1);
+        assertThat(expiringKeyCache.getMissCount()).isEqualTo(1);
+        assertThat(expiringKeyCache.getHitRatio()).isEqualTo(0.5);
+    }
+
+    @Test
+    @DisplayName("Should not remember a key when something was removed since the stamp was taken")
+    void shouldNotRememberAKeyWhenSomethingWasRemovedSinceTheStampWasTaken() {
+        long stamp = expiringKeyCache.stamp();
+        expiringKeyCache.remove("auth0|1");
+
+        expiringKeyCache.add("auth0|1", stamp);
+
+        assertThat(expiringKeyCache.contains("auth0|1")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should forget keys once they are removed or cleared")
+    void shouldForgetKeysOnceTheyAreRemovedOrCleared() {
+        expiringKeyCache.add("auth0|1", expiringKeyCache.stamp());
+        expiringKeyCache.add("auth0|2");
+
+        expiringKeyCache.removeAll(List.of("auth0|1"));
+
+        assertThat(expiringKeyCache.contains("auth0|1")).isFalse();
+        assertThat(expiringKeyCache.contains("auth0|2")).isTrue();
+
+        expiringKeyCache.clear();
+
+        assertThat(expiringKeyCache.contains("auth0|2")).isFalse();
+        assertThat(expiringKeyCache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should evict a key when the maximum size is exceeded")
+    void shouldEvictAKeyWhenTheMaximumSizeIsExceeded() {
+        expiringKeyCache.add("auth0|1");
+        expiringKeyCache.add("auth0|2");
+        expiringKeyCache.add("auth0|3");
+
+        assertThat(expiringKeyCache.size()).isEqualTo(2);
+    }
+}
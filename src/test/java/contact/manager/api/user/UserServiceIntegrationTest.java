@@ -1,5 +1,8 @@
 package contact.manager.api.user;
 
+import contact.manager.api.contact.ContactCache;
+import contact.manager.api.contact.MissingContactCache;
+import contact.manager.api.invalidation.CacheInvalidationBus;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -14,7 +17,8 @@ import static org.assertj.core.api.Assertions.catchThrowable;
 import static contact.manager.api.misc.TestResources.*;
 
 @DataJpaTest
-@Import({UserServiceImpl.class})
+@Import({UserServiceImpl.class, KnownUserCache.class, MissingUserCache.class, CacheInvalidationBus.class,
+    ContactCache.class, MissingContactCache.class})
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
 public class UserServiceIntegrationTest {
 
@@ -1,5 +1,6 @@
 package contact.manager.api.user;
 
+import contact.manager.api.invalidation.CacheInvalidationBus;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -10,6 +11,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Duration;
 import java.util.Optional;
 
 import static contact.manager.api.misc.TestResources.getMockedUser;
@@ -28,9 +30,17 @@ public class UserServiceTest {
 
     public UserService userServiceUnderTest;
 
+    public KnownUserCache knownUserCache;
+
+    public MissingUserCache missingUserCache;
+
     @BeforeEach
     void beforeEach() {
-        userServiceUnderTest = new UserServiceImpl(userRepository);
+        knownUserCache = new KnownUserCache(100, Duration.ofMinutes(1));
+        missingUserCache = new MissingUserCache(100, Duration.ofSeconds(30));
+        userServiceUnderTest = new UserServiceImpl(
+            userRepository, knownUserCache, missingUserCache, mock(CacheInvalidationBus.class)
+        );
     }
 
     @Nested
@@ -101,6 +111,98 @@ public class UserServiceTest {
         }
     }
 
+    @Nested
+    public class FindReferenceById {
+
+        @Test
+        @DisplayName("When the user is not known yet then should check its existence once and remember it")
+        void whenTheUserIsNotKnownYet_thenShouldCheckItsExistenceOnceAndRememberIt() {
+            User targetUser = getMockedUser();
+            when(userRepository.existsById(eq(targetUser.getId()))).thenReturn(true);
+            when(userRepository.getReferenceById(eq(targetUser.getId()))).thenReturn(targetUser);
+
+            userServiceUnderTest.findReferenceById(targetUser.getId());
+            User actualUser = userServiceUnderTest.findReferenceById(targetUser.getId());
+
+            assertThat(actualUser).isSameAs(targetUser);
+            assertThat(knownUserCache.getMissCount()).isEqualTo(1);
+            assertThat(knownUserCache.getHitCount()).isEqualTo(1);
+
+            verify(userRepository, once()).existsById(eq(targetUser.getId()));
+            verify(userRepository, times(2)).getReferenceById(eq(targetUser.getId()));
+            verify(userRepository, never()).findById(anyString());
+        }
+
+        @Test
+        @DisplayName("When provided a non-existing id then should throw an exception without remembering it")
+        void whenProvidedANonExistingId_thenShouldThrowAnExceptionWithoutRememberingIt() {
+            User targetUser = getMockedUser();
+            when(userRepository.existsById(eq(targetUser.getId()))).thenReturn(false);
+
+            Throwable throwable = catchThrowable(() -> userServiceUnderTest.findReferenceById(targetUser.getId()));
+
+            assertThat(throwable).isInstanceOf(ResponseStatusException.class);
+            assertThat(throwable).hasMessageContaining("User not found");
+            assertThat(knownUserCache.size()).isZero();
+
+            verify(userRepository, once()).existsById(eq(targetUser.getId()));
+            verify(userRepository, never()).getReferenceById(anyString());
+        }
+
+        @Test
+        @DisplayName("When a non-existing id is looked up again then should not query the repository a second time")
+        void whenANonExistingIdIsLookedUpAgain_thenShouldNotQueryTheRepositoryASecondTime() {
+            User targetUser = getMockedUser();
+            when(userRepository.existsById(eq(targetUser.getId()))).thenReturn(false);
+
+            catchThrowable(() -> userServiceUnderTest.findReferenceById(targetUser.getId()));
+            Throwable throwable = catchThrowable(() -> userServiceUnderTest.findReferenceById(targetUser.getId()));
+
+            assertThat(throwable).isInstanceOf(ResponseStatusException.class);
+            assertThat(throwable).hasMessageContaining("User not found");
+            assertThat(throwable.getStackTrace()).isEmpty();
+            assertThat(missingUserCache.getHitCount()).isEqualTo(1);
+
+            verify(userRepository, once()).existsById(eq(targetUser.getId()));
+        }
+
+        @Test
+        @DisplayName("When a missing user is created then should look it up again")
+        void whenAMissingUserIsCreated_thenShouldLookItUpAgain() {
+            User targetUser = getMockedUser();
+            when(userRepository.existsById(eq(targetUser.getId()))).thenReturn(false, true);
+            when(userRepository.findById(eq(targetUser.getId()))).thenReturn(Optional.empty());
+            when(userRepository.getReferenceById(eq(targetUser.getId()))).thenReturn(targetUser);
+
+            catchThrowable(() -> userServiceUnderTest.findReferenceById(targetUser.getId()));
+            userServiceUnderTest.create(targetUser);
+            knownUserCache.clear();
+            User actualUser = userServiceUnderTest.findReferenceById(targetUser.getId());
+
+            assertThat(actualUser).isSameAs(targetUser);
+
+            verify(userRepository, times(2)).existsById(eq(targetUser.getId()));
+        }
+    }
+
+    @Nested
+    public class IncrementContactsVersion {
+
+        @Test
+        @DisplayName("When a known user was deleted in the meantime then should forget it and throw ResponseStatusException NOT FOUND")
+        void whenAKnownUserWasDeletedInTheMeantime_thenShouldForgetItAndThrowAnException() {
+            User targetUser = getMockedUser();
+            knownUserCache.add(targetUser.getId());
+            when(userRepository.incrementContactsVersionById(eq(targetUser.getId()))).thenReturn(Optional.empty());
+
+            Throwable throwable = catchThrowable(() -> userServiceUnderTest.incrementContactsVersion(targetUser.getId()));
+
+            assertThat(throwable).isInstanceOf(ResponseStatusException.class);
+            assertThat(((ResponseStatusException) throwable).getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+            assertThat(knownUserCache.contains(targetUser.getId())).isFalse();
+        }
+    }
+
     @Nested
     public class FindByUsername {
 